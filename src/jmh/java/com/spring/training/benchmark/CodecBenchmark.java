@@ -0,0 +1,99 @@
+package com.spring.training.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.training.domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    static final ResolvableType PERSON = ResolvableType.forClass(Person.class);
+
+    @Param({"1", "100"})
+    int size;
+
+    DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    Jackson2JsonEncoder encoder;
+    Jackson2JsonDecoder decoder;
+    List<Person> persons;
+    byte[] encoded;
+    byte[] encodedSingle;
+
+    @Setup
+    public void setup() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new Jackson2JsonEncoder(mapper);
+        decoder = new Jackson2JsonDecoder(mapper);
+        persons = Fixtures.persons(size);
+        encoded = toBytes(encode());
+        encodedSingle = toBytes(Flux.just(encodeSingle()));
+    }
+
+    @Benchmark
+    public byte[] encodeStream() {
+        return toBytes(encode());
+    }
+
+    @Benchmark
+    public List<Object> decodeStream() {
+        DataBuffer buffer = bufferFactory.wrap(encoded);
+        return decoder.decode(Flux.just(buffer), PERSON, MediaType.APPLICATION_NDJSON, Collections.emptyMap())
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public DataBuffer encodeSingle() {
+        return encoder.encodeValue(persons.get(0), bufferFactory, PERSON, MediaType.APPLICATION_JSON,
+                Collections.emptyMap());
+    }
+
+    @Benchmark
+    public Object decodeSingle() {
+        DataBuffer buffer = bufferFactory.wrap(encodedSingle);
+        return decoder.decodeToMono(Flux.just(buffer), PERSON, MediaType.APPLICATION_JSON, Collections.emptyMap())
+                .block();
+    }
+
+    private Flux<DataBuffer> encode() {
+        return encoder.encode(Flux.fromIterable(persons), bufferFactory, PERSON, MediaType.APPLICATION_NDJSON,
+                Collections.emptyMap());
+    }
+
+    private static byte[] toBytes(Flux<DataBuffer> buffers) {
+        DataBuffer joined = DataBufferUtils.join(buffers).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+
+}
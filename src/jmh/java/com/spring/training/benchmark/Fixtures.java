@@ -0,0 +1,43 @@
+package com.spring.training.benchmark;
+
+import com.spring.training.domain.Country;
+import com.spring.training.domain.Person;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.spring.training.util.Claims.ROLES;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Jwt jwt(String tokenValue) {
+        Instant now = Instant.now();
+        return Jwt.withTokenValue(tokenValue)
+                .header("alg", "RS256")
+                .subject("benchmark")
+                .claim("preferred_username", "benchmark")
+                .claim(ROLES, Arrays.asList("read", "write"))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+    }
+
+    static Person person(long id) {
+        return new Person(id, "John", "Doe", new Country("France", "Paris", 67_000_000));
+    }
+
+    static List<Person> persons(int size) {
+        List<Person> persons = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            persons.add(person(i));
+        }
+        return persons;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.spring.training.benchmark;
+
+import com.spring.training.config.JwtConfig;
+import com.spring.training.util.JwtConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtConverterBenchmark {
+
+    @Param({"true", "false"})
+    boolean cacheEnabled;
+
+    JwtConverter converter;
+    Jwt jwt;
+
+    @Setup
+    public void setup() {
+        JwtConfig config = new JwtConfig();
+        config.setCacheEnabled(cacheEnabled);
+        converter = new JwtConverter(config, new SimpleMeterRegistry());
+        byte[] signature = new byte[600];
+        ThreadLocalRandom.current().nextBytes(signature);
+        jwt = Fixtures.jwt(Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt).block();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.spring.training.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.training.client.PersonClient;
+import com.spring.training.config.ClientConfig;
+import com.spring.training.domain.Person;
+import com.spring.training.resilience.ResiliencePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonClientBenchmark {
+
+    DisposableServer server;
+    ConnectionProvider provider;
+    PersonClient client;
+    long id;
+
+    @Setup
+    public void setup() throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(Fixtures.person(1));
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/persons/{id}", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.just(body))))
+                .bindNow();
+        provider = ConnectionProvider.create("benchmark", 16);
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port())
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+        ClientConfig config = new ClientConfig();
+        client = new PersonClient(webClient, new ResiliencePolicy(config, new SimpleMeterRegistry()), config);
+    }
+
+    @TearDown
+    public void tearDown() {
+        provider.disposeLater().block();
+        server.disposeNow();
+    }
+
+    @Benchmark
+    public Person getPerson() {
+        return client.getPerson(id++).block();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.spring.training.benchmark;
+
+import com.spring.training.config.JwtConfig;
+import com.spring.training.config.SecurityConfig;
+import com.spring.training.util.JwtConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.handler.DefaultWebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    static final String TOKEN = "benchmark-token";
+
+    WebFilterChainProxy proxy;
+
+    @Setup
+    public void setup() {
+        Jwt jwt = Fixtures.jwt(TOKEN);
+        ServerHttpSecurity http = ServerHttpSecurity.http()
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt().jwtDecoder(token -> Mono.just(jwt)));
+        JwtConverter converter = new JwtConverter(new JwtConfig(), new SimpleMeterRegistry());
+        proxy = new WebFilterChainProxy(new SecurityConfig().securityFilterChain(http, converter));
+    }
+
+    @Benchmark
+    public ServerWebExchange authenticated() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN));
+        new DefaultWebFilterChain(e -> Mono.empty(), Collections.singletonList(proxy))
+                .filter(exchange)
+                .block();
+        return exchange;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.spring.training.benchmark;
+
+import com.spring.training.config.WireLogConfig;
+import com.spring.training.logging.WireLogWebFilter;
+import com.spring.training.logging.WireLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.handler.DefaultWebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireLogBenchmark {
+
+    static final byte[] BODY = "{\"id\":1,\"firstName\":\"John\",\"lastName\":\"Doe\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"OFF", "SAMPLED", "ALL"})
+    WireLogConfig.Mode mode;
+
+    WireLogger logger;
+    WireLogWebFilter filter;
+
+    @Setup
+    public void setup() {
+        WireLogConfig config = new WireLogConfig();
+        config.setMode(mode);
+        logger = new WireLogger(config, new SimpleMeterRegistry());
+        logger.start();
+        filter = new WireLogWebFilter(logger);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.stop();
+    }
+
+    @Benchmark
+    public ServerWebExchange filter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer benchmark-token"));
+        new DefaultWebFilterChain(this::respond, Collections.singletonList(filter))
+                .filter(exchange)
+                .block();
+        return exchange;
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange) {
+        DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(BODY);
+        return exchange.getResponse().writeWith(Mono.just(buffer));
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.spring.training.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadGenerator {
+
+    final LoadTestConfig config;
+    final List<String> tokens;
+    final ConnectionProvider provider;
+    final WebClient client;
+    final Map<String, Histogram> latencies = new LinkedHashMap<>();
+    final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    final LongAdder dropped = new LongAdder();
+
+    public LoadGenerator(LoadTestConfig config, String baseUrl, List<String> tokens) {
+        this.config = config;
+        this.tokens = tokens;
+        this.provider = ConnectionProvider.builder("loadtest")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+        for (String path : config.getPaths()) {
+            latencies.put(path, new ConcurrentHistogram(3));
+            errors.put(path, new LongAdder());
+        }
+    }
+
+    public void run() {
+        long period = TimeUnit.SECONDS.toNanos(1) / config.getRps();
+        long measureFrom = config.getWarmup().toNanos() / period;
+        long ticks = measureFrom + config.getDuration().toNanos() / period;
+        long start = System.nanoTime();
+        Flux.interval(Duration.ZERO, Duration.ofNanos(period), Schedulers.single())
+                .take(ticks)
+                .onBackpressureDrop(tick -> {
+                    if (tick >= measureFrom) {
+                        dropped.increment();
+                    }
+                })
+                .flatMap(tick -> send(tick, start + tick * period, tick >= measureFrom), config.getMaxInFlight())
+                .blockLast();
+    }
+
+    public void stop() {
+        provider.disposeLater().block();
+    }
+
+    public Map<String, Object> report() {
+        Histogram total = new Histogram(3);
+        long failed = 0;
+        Map<String, Object> paths = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> entry : latencies.entrySet()) {
+            total.add(entry.getValue());
+            long pathErrors = errors.get(entry.getKey()).sum();
+            failed += pathErrors;
+            paths.put(entry.getKey(), summary(entry.getValue(), pathErrors));
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRps", config.getRps());
+        report.put("throughput", total.getTotalCount() / (double) config.getDuration().getSeconds());
+        report.put("dropped", dropped.sum());
+        report.put("total", summary(total, failed));
+        report.put("paths", paths);
+        return report;
+    }
+
+    private Mono<Boolean> send(long tick, long intended, boolean measured) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = config.getPaths().get((int) (tick % config.getPaths().size()));
+        String uri = path.replace("{id}", String.valueOf(random.nextInt(config.getUpstream().getPersons()) + 1))
+                .replace("{name}", "country-" + random.nextInt(config.getUpstream().getCountries()));
+        return client.get().uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get(random.nextInt(tokens.size())))
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().is2xxSuccessful()))
+                .onErrorReturn(false)
+                .doOnNext(success -> {
+                    if (measured) {
+                        latencies.get(path).recordValue(System.nanoTime() - intended);
+                        if (!success) {
+                            errors.get(path).increment();
+                        }
+                    }
+                });
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.spring.training.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.training.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new Binder(ConfigurationPropertySources.from(new SimpleCommandLinePropertySource(args)))
+                .bindOrCreate("loadtest", LoadTestConfig.class);
+        StubUpstream upstream = new StubUpstream(config.getUpstream());
+        StubIssuer issuer = new StubIssuer();
+        upstream.start();
+        issuer.start();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.cloud.consul.enabled", false);
+        properties.put("remote.services.catalog.enabled", false);
+        properties.put("spring.cloud.discovery.client.simple.instances.spring-consul[0].uri", upstream.getUrl());
+        properties.put("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", issuer.getJwkSetUri());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .properties(properties)
+                .run(args);
+        LoadGenerator generator = null;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Duration validity = config.getWarmup().plus(config.getDuration()).plusMinutes(5);
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < config.getSubjects(); i++) {
+                tokens.add(issuer.token("loadtest-" + i, validity));
+            }
+            generator = new LoadGenerator(config, "http://localhost:" + port, tokens);
+            generator.run();
+            Map<String, Object> connections = new LinkedHashMap<>();
+            connections.put("opened", upstream.getOpenedConnections());
+            connections.put("peak", upstream.getPeakConnections());
+            Map<String, Object> report = generator.report();
+            report.put("upstreamConnections", connections);
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            System.out.println(mapper.writeValueAsString(report));
+            File file = new File(config.getReport()).getAbsoluteFile();
+            file.getParentFile().mkdirs();
+            mapper.writeValue(file, report);
+        } finally {
+            if (generator != null) {
+                generator.stop();
+            }
+            context.close();
+            issuer.stop();
+            upstream.stop();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.spring.training.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Data
+public class LoadTestConfig {
+    int rps = 200;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    int maxInFlight = 10_000;
+    int maxConnections = 1_000;
+    int subjects = 100;
+    List<String> paths = new ArrayList<>(Arrays.asList("/persons/{id}", "/countries/{name}",
+            "/persons?limit=100", "/countries?limit=50"));
+    String report = "target/loadtest-result.json";
+    UpstreamConfig upstream = new UpstreamConfig();
+
+    @Data
+    public static class UpstreamConfig {
+        int persons = 1_000;
+        int countries = 200;
+        Duration latencyMedian = Duration.ofMillis(5);
+        Duration latencyP99 = Duration.ofMillis(50);
+        double errorRate = 0.0;
+        double resetRate = 0.0;
+        double slowStreamRate = 0.0;
+        Duration streamElementDelay = Duration.ofMillis(10);
+    }
+}
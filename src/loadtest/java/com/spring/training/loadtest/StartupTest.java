@@ -0,0 +1,125 @@
+package com.spring.training.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.http.HttpHeaders;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class StartupTest {
+
+    public static void main(String[] args) throws Exception {
+        StartupTestConfig config = new Binder(ConfigurationPropertySources.from(new SimpleCommandLinePropertySource(args)))
+                .bindOrCreate("startup-test", StartupTestConfig.class);
+        StubUpstream upstream = new StubUpstream(new LoadTestConfig.UpstreamConfig());
+        StubIssuer issuer = new StubIssuer();
+        upstream.start();
+        issuer.start();
+        try {
+            String token = issuer.token("startup", Duration.ofHours(1));
+            List<Long> samples = new ArrayList<>();
+            for (int run = 0; run < config.getRuns(); run++) {
+                samples.add(measure(config, run, upstream, issuer, token));
+            }
+            List<Long> sorted = new ArrayList<>(samples);
+            Collections.sort(sorted);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("jar", config.getJar());
+            report.put("jvmArgs", config.getJvmArgs());
+            report.put("appArgs", config.getAppArgs());
+            report.put("runsMs", samples);
+            report.put("minMs", sorted.get(0));
+            report.put("medianMs", sorted.get(sorted.size() / 2));
+            report.put("maxMs", sorted.get(sorted.size() - 1));
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            System.out.println(mapper.writeValueAsString(report));
+            File file = new File(config.getReport()).getAbsoluteFile();
+            file.getParentFile().mkdirs();
+            mapper.writeValue(file, report);
+        } finally {
+            issuer.stop();
+            upstream.stop();
+        }
+    }
+
+    private static long measure(StartupTestConfig config, int run, StubUpstream upstream, StubIssuer issuer, String token) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(config.getJava());
+        command.addAll(config.getJvmArgs());
+        command.add("-jar");
+        command.add(config.getJar());
+        command.add("--server.port=" + port);
+        command.add("--spring.cloud.consul.enabled=false");
+        command.add("--remote.services.catalog.enabled=false");
+        command.add("--spring.cloud.discovery.client.simple.instances.spring-consul[0].uri=" + upstream.getUrl());
+        command.add("--spring.security.oauth2.resourceserver.jwt.jwk-set-uri=" + issuer.getJwkSetUri());
+        command.addAll(config.getAppArgs());
+        File log = new File(config.getReport()).getAbsoluteFile().getParentFile().toPath().resolve("startup-run-" + run + ".log").toFile();
+        log.getParentFile().mkdirs();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log))
+                .start();
+        try {
+            URL url = new URL("http://localhost:" + port + config.getPath());
+            long deadline = start + config.getTimeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                if (succeeds(url, token)) {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    System.out.println("Run " + run + ": first successful request after " + elapsed + " ms");
+                    return elapsed;
+                }
+                Thread.sleep(config.getPollInterval().toMillis());
+            }
+            throw new IllegalStateException("No successful request within " + config.getTimeout() + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean succeeds(URL url, String token) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(1_000);
+            connection.setReadTimeout(10_000);
+            connection.setRequestProperty(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+            return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.spring.training.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class StartupTestConfig {
+    String java = "java";
+    String jar = "target/spring-consul-webclient-0.0.1-SNAPSHOT.jar";
+    List<String> jvmArgs = new ArrayList<>();
+    List<String> appArgs = new ArrayList<>();
+    int runs = 5;
+    String path = "/persons/1";
+    Duration timeout = Duration.ofSeconds(60);
+    Duration pollInterval = Duration.ofMillis(10);
+    String report = "target/startup-result.json";
+}
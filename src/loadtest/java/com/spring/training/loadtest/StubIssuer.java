@@ -0,0 +1,70 @@
+package com.spring.training.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+
+import static com.spring.training.util.Claims.ROLES;
+
+public class StubIssuer {
+
+    static final String JWKS_PATH = "/protocol/openid-connect/certs";
+
+    final RSAKey key;
+    DisposableServer server;
+
+    public StubIssuer() throws JOSEException {
+        this.key = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+    }
+
+    public void start() {
+        String jwkSet = new JWKSet(key.toPublicJWK()).toString();
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(JWKS_PATH, (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=300")
+                        .sendString(Mono.just(jwkSet))))
+                .bindNow();
+    }
+
+    public void stop() {
+        server.disposeNow();
+    }
+
+    public String getJwkSetUri() {
+        return "http://localhost:" + server.port() + JWKS_PATH;
+    }
+
+    public String token(String subject, Duration validity) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .claim("preferred_username", subject)
+                .claim(ROLES, Arrays.asList("user", "admin"))
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(validity)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.spring.training.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.training.domain.Country;
+import com.spring.training.domain.Person;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class StubUpstream {
+
+    final LoadTestConfig.UpstreamConfig config;
+    final ObjectMapper mapper = new ObjectMapper();
+    final List<String> persons = new ArrayList<>();
+    final Map<String, String> countries = new LinkedHashMap<>();
+    final AtomicLong opened = new AtomicLong();
+    final AtomicInteger open = new AtomicInteger();
+    final AtomicInteger peak = new AtomicInteger();
+    final double mu;
+    final double sigma;
+    DisposableServer server;
+
+    public StubUpstream(LoadTestConfig.UpstreamConfig config) throws JsonProcessingException {
+        this.config = config;
+        for (int i = 0; i < config.getCountries(); i++) {
+            Country country = new Country("country-" + i, "capital-" + i, 1_000_000 + i);
+            countries.put(country.getName(), mapper.writeValueAsString(country));
+        }
+        for (long id = 1; id <= config.getPersons(); id++) {
+            Country country = new Country("country-" + id % config.getCountries(), "capital-" + id % config.getCountries(), 0);
+            persons.add(mapper.writeValueAsString(new Person(id, "first-" + id, "last-" + id, country)));
+        }
+        double median = config.getLatencyMedian().toNanos();
+        double p99 = config.getLatencyP99().toNanos();
+        this.mu = median > 0 ? Math.log(median) : 0;
+        this.sigma = median > 0 && p99 > median ? (Math.log(p99) - mu) / 2.326 : 0;
+    }
+
+    public void start() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .doOnConnection(connection -> {
+                    opened.incrementAndGet();
+                    peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    connection.onDispose(open::decrementAndGet);
+                })
+                .route(routes -> routes
+                        .get("/persons", (request, response) -> inject(response,
+                                () -> list(request, response, persons)))
+                        .get("/persons/{id}", (request, response) -> inject(response,
+                                () -> single(response, person(request.param("id")))))
+                        .get("/countries", (request, response) -> inject(response,
+                                () -> list(request, response, new ArrayList<>(countries.values()))))
+                        .get("/countries/{name}", (request, response) -> inject(response,
+                                () -> single(response, countries.get(request.param("name"))))))
+                .bindNow();
+    }
+
+    public void stop() {
+        server.disposeNow();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public long getOpenedConnections() {
+        return opened.get();
+    }
+
+    public int getPeakConnections() {
+        return peak.get();
+    }
+
+    private Publisher<Void> inject(HttpServerResponse response, Supplier<Publisher<Void>> handler) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Mono.delay(latency(random)).thenMany(Flux.defer(() -> {
+            double fault = random.nextDouble();
+            if (fault < config.getResetRate()) {
+                return Mono.<Void>fromRunnable(() -> response.withConnection(Connection::dispose));
+            }
+            if (fault < config.getResetRate() + config.getErrorRate()) {
+                return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send();
+            }
+            return handler.get();
+        }));
+    }
+
+    private Duration latency(ThreadLocalRandom random) {
+        if (mu == 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    private String person(String id) {
+        try {
+            int index = Integer.parseInt(id) - 1;
+            return index >= 0 && index < persons.size() ? persons.get(index) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Publisher<Void> single(HttpServerResponse response, String body) {
+        if (body == null) {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+        return json(response).sendString(Mono.just(body));
+    }
+
+    private Publisher<Void> list(HttpServerRequest request, HttpServerResponse response, List<String> items) {
+        Map<String, List<String>> query = new QueryStringDecoder(request.uri()).parameters();
+        int offset = (int) Math.min(Long.parseLong(first(query, "offset", "0")), items.size());
+        int limit = (int) Math.min(Long.parseLong(first(query, "limit", String.valueOf(items.size()))), items.size() - offset);
+        List<String> page = items.subList(offset, offset + limit);
+        if (ThreadLocalRandom.current().nextDouble() >= config.getSlowStreamRate()) {
+            return json(response).sendString(Mono.just("[" + String.join(",", page) + "]"));
+        }
+        Flux<String> elements = Flux.range(0, page.size()).map(i -> (i == 0 ? "" : ",") + page.get(i));
+        return json(response).sendString(Flux.concat(Mono.just("["),
+                elements.delayElements(config.getStreamElementDelay()),
+                Mono.just("]")));
+    }
+
+    private static HttpServerResponse json(HttpServerResponse response) {
+        return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private static String first(Map<String, List<String>> query, String name, String defaultValue) {
+        List<String> values = query.get(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+}
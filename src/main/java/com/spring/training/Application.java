@@ -1,33 +1,45 @@
 package com.spring.training;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
-
-import java.util.List;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.context.event.EventListener;
 
+@Slf4j
 @SpringBootApplication
-public class Application implements CommandLineRunner {
+public class Application {
 
     @Autowired
-    DiscoveryClient discoveryClient;
+    ReactiveDiscoveryClient discoveryClient;
+
+    @Value("${startup.exit-on-ready:false}")
+    boolean exitOnReady;
 
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
     }
 
-    @Override
-    public void run(String... args) {
-        final String serviceId = "spring-consul";
-        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
-        System.out.println(serviceId);
-        if (instances.isEmpty()) {
-            System.out.println("no registered instance found");
-        } else {
-            instances.forEach(instance -> System.out.println(instance.getUri()));
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (exitOnReady) {
+            log.info("Startup completed, exiting as requested by startup.exit-on-ready");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
         }
+        final String serviceId = "spring-consul";
+        discoveryClient.getInstances(serviceId)
+                .map(ServiceInstance::getUri)
+                .collectList()
+                .subscribe(uris -> {
+                    if (uris.isEmpty()) {
+                        log.info("No registered instance found for {}", serviceId);
+                    } else {
+                        log.info("Registered instances for {}: {}", serviceId, uris);
+                    }
+                }, error -> log.warn("Unable to look up {} instances", serviceId, error));
     }
 }
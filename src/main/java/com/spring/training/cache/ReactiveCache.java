@@ -0,0 +1,104 @@
+package com.spring.training.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.training.config.CacheConfig;
+import com.spring.training.exception.EntityNotFoundException;
+import com.spring.training.resilience.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+@Slf4j
+public class ReactiveCache<K, V> {
+
+    static final int GENERATION_STRIPES = 64;
+
+    final String name;
+    final CacheConfig config;
+    final Cache<K, CachedValue<V>> cache;
+    final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ReactiveCache(String name, CacheConfig config, MeterRegistry registry) {
+        this.name = name;
+        this.config = config;
+        Cache<K, CachedValue<V>> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtl().plus(config.getStaleWhileRevalidate()))
+                .recordStats()
+                .build();
+        this.cache = CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        if (!config.isEnabled()) {
+            return loader.apply(key);
+        }
+        return Mono.deferContextual(context -> {
+            long generation = generation(key);
+            CachedValue<V> cached = cache.getIfPresent(key);
+            if (cached == null) {
+                return loader.apply(key).doOnNext(value -> put(key, value, generation));
+            }
+            if (cached.isStale(config.getTtl().toNanos()) && cached.refreshing.compareAndSet(false, true)) {
+                // the refresh runs on behalf of the request that found the entry stale, with its credentials,
+                // exactly as a miss would; only the caller's deadline is dropped
+                loader.apply(key)
+                        .contextWrite(refreshContext -> refreshContext.delete(Deadline.KEY))
+                        .contextWrite(context)
+                        .subscribe(value -> put(key, value, generation),
+                                error -> onRefreshError(key, cached, error),
+                                () -> cache.asMap().remove(key, cached));
+            }
+            return Mono.just(cached.value);
+        });
+    }
+
+    public void invalidate(K key) {
+        cache.asMap().compute(key, (k, cached) -> {
+            generations.incrementAndGet(stripe(k));
+            return null;
+        });
+    }
+
+    private void put(K key, V value, long generation) {
+        cache.asMap().compute(key, (k, cached) -> generations.get(stripe(k)) == generation ? new CachedValue<>(value) : cached);
+    }
+
+    private long generation(K key) {
+        return generations.get(stripe(key));
+    }
+
+    private static int stripe(Object key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private void onRefreshError(K key, CachedValue<V> cached, Throwable error) {
+        if (error instanceof EntityNotFoundException) {
+            cache.asMap().remove(key, cached);
+        } else {
+            log.warn("Unable to refresh {} entry {}, serving stale value", name, key, error);
+            cached.refreshing.set(false);
+        }
+    }
+
+    static class CachedValue<V> {
+        final V value;
+        final long createdAt = System.nanoTime();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CachedValue(V value) {
+            this.value = value;
+        }
+
+        boolean isStale(long ttl) {
+            return System.nanoTime() - createdAt > ttl;
+        }
+    }
+
+}
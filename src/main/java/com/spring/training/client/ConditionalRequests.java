@@ -0,0 +1,91 @@
+package com.spring.training.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+public class ConditionalRequests<K, V> {
+
+    static final int GENERATION_STRIPES = 64;
+
+    final Class<V> type;
+    final Cache<K, Validated<V>> entries;
+    final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ConditionalRequests(Class<V> type, long maxSize) {
+        this.type = type;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Mono<V> get(K key, Supplier<WebClient.RequestHeadersSpec<?>> request, Supplier<? extends Throwable> notFound) {
+        return Mono.defer(() -> {
+            long generation = generations.get(stripe(key));
+            Validated<V> entry = entries.getIfPresent(key);
+            return request.get()
+                    .headers(headers -> {
+                        if (entry != null && entry.etag != null) {
+                            headers.setIfNoneMatch(entry.etag);
+                        }
+                        if (entry != null && entry.lastModified >= 0) {
+                            headers.setIfModifiedSince(entry.lastModified);
+                        }
+                    })
+                    .exchangeToMono(response -> handle(key, generation, entry, response, notFound));
+        });
+    }
+
+    public void invalidate(K key) {
+        entries.asMap().compute(key, (k, entry) -> {
+            generations.incrementAndGet(stripe(k));
+            return null;
+        });
+    }
+
+    private Mono<V> handle(K key, long generation, Validated<V> entry, ClientResponse response, Supplier<? extends Throwable> notFound) {
+        HttpStatus status = response.statusCode();
+        if (status == HttpStatus.NOT_MODIFIED && entry != null) {
+            return response.releaseBody().thenReturn(entry.value);
+        }
+        if (status.is4xxClientError()) {
+            return response.releaseBody().then(Mono.error(notFound.get()));
+        }
+        if (!status.is2xxSuccessful()) {
+            return response.createException().flatMap(Mono::error);
+        }
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        return response.bodyToMono(type).doOnNext(value -> {
+            if (headers.getETag() != null || headers.getLastModified() >= 0) {
+                Validated<V> validated = new Validated<>(value, headers.getETag(), headers.getLastModified());
+                entries.asMap().compute(key, (k, current) -> generations.get(stripe(k)) == generation ? validated : current);
+            } else {
+                entries.invalidate(key);
+            }
+        });
+    }
+
+    private static int stripe(Object key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    static class Validated<V> {
+        final V value;
+        final String etag;
+        final long lastModified;
+
+        Validated(V value, String etag, long lastModified) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+
+}
@@ -1,52 +1,95 @@
 package com.spring.training.client;
 
+import com.spring.training.config.CacheConfig;
+import com.spring.training.config.ClientConfig;
+import com.spring.training.config.PagingConfig;
 import com.spring.training.exception.EntityNotFoundException;
 import com.spring.training.domain.Country;
-import lombok.AllArgsConstructor;
+import com.spring.training.resilience.ResiliencePolicy;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-@AllArgsConstructor
+import java.util.List;
+
+import static com.spring.training.util.Headers.IDEMPOTENCY_KEY;
+
 @Component
 public class CountryClient {
 
+    static final ParameterizedTypeReference<List<Country>> PAGE = new ParameterizedTypeReference<List<Country>>() {
+    };
+
     final WebClient client;
+    final ResiliencePolicy policy;
+    final ClientConfig config;
+    final RequestCoalescer<String, Country> inFlight = new RequestCoalescer<>();
+    final ConditionalRequests<String, Country> validators;
 
-    public Flux<Country> getCountries() {
-        return client.get().uri("/countries")
+    public CountryClient(WebClient client, ResiliencePolicy policy, ClientConfig config) {
+        this.client = client;
+        this.policy = policy;
+        this.config = config;
+        this.validators = new ConditionalRequests<>(Country.class, config.getCache().getOrDefault("countries", new CacheConfig()).getMaxSize());
+    }
+
+    public Flux<Country> getCountries(long cursor, long limit) {
+        PagingConfig paging = config.getPaging();
+        if (!paging.isEnabled()) {
+            return allCountries()
+                    .skip(cursor)
+                    .take(limit);
+        }
+        return Paging.pages(cursor, limit, paging.getPageSize(), (offset, count) -> policy.read("countries.getCountries",
+                client.get().uri("/countries?offset={offset}&limit={limit}", offset, count)
+                        .retrieve()
+                        .bodyToMono(PAGE)), this::allCountries);
+    }
+
+    private Flux<Country> allCountries() {
+        return policy.stream("countries.getCountries", client.get().uri("/countries")
+                .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(Country.class);
+                .bodyToFlux(Country.class));
     }
 
     public Mono<Country> getCountry(String name) {
-        return client.get().uri("/countries/{name}", name)
-                .retrieve()
-                .onStatus(HttpStatus::is4xxClientError, response -> Mono.error(new EntityNotFoundException("country not found with name : " + name)))
-                .bodyToMono(Country.class);
+        return policy.bound("countries.getCountry", inFlight.execute(name, () -> policy.read("countries.getCountry", validators.get(name,
+                () -> client.get().uri("/countries/{name}", name),
+                () -> new EntityNotFoundException("country not found with name : " + name)))));
     }
 
-    public Mono<Country> createCountry(Country country) {
-        return client.post().uri("/countries")
+    public Mono<Country> createCountry(Country country, String idempotencyKey) {
+        Mono<Country> request = client.post().uri("/countries")
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+                    }
+                })
                 .body(Mono.just(country), Country.class)
                 .retrieve()
                 .bodyToMono(Country.class);
+        return idempotencyKey != null ? policy.idempotent("countries.createCountry", request) : policy.write("countries.createCountry", request);
     }
 
     public Mono<Country> updateCountry(String name, Country country) {
-        return client.put().uri("/countries/{name}", name)
+        return policy.idempotent("countries.updateCountry", client.put().uri("/countries/{name}", name)
                 .body(Mono.just(country), Country.class)
                 .retrieve()
                 .onStatus(HttpStatus::is4xxClientError, response -> Mono.error(new EntityNotFoundException("country not found with name : " + name)))
-                .bodyToMono(Country.class);
+                .bodyToMono(Country.class))
+                .doFinally(signal -> validators.invalidate(name));
     }
 
     public Mono<Void> deleteCountry(String name) {
-        return client.delete().uri("/countries/{name}", name)
+        return policy.idempotent("countries.deleteCountry", client.delete().uri("/countries/{name}", name)
                 .retrieve()
-                .bodyToMono(Void.class);
+                .bodyToMono(Void.class))
+                .doFinally(signal -> validators.invalidate(name));
     }
 
 }
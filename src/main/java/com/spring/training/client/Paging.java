@@ -0,0 +1,73 @@
+package com.spring.training.client;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+final class Paging {
+
+    private Paging() {
+    }
+
+    static <T> Flux<T> pages(long cursor, long limit, int size, BiFunction<Long, Long, Mono<List<T>>> fetch, Supplier<Flux<T>> unpaged) {
+        return Flux.<Long, Long>generate(() -> cursor, (offset, sink) -> {
+                    if (offset - cursor >= limit) {
+                        sink.complete();
+                    } else {
+                        sink.next(offset);
+                    }
+                    return offset + size;
+                })
+                .concatMap(offset -> {
+                    long requested = Math.min(limit - (offset - cursor), size);
+                    return fetch.apply(offset, requested)
+                            .defaultIfEmpty(Collections.emptyList())
+                            .map(items -> new Page<>(items, requested));
+                }, 1)
+                .takeUntil(page -> page.items.size() != page.requested)
+                // each page is held back until the next one shows whether the upstream honoured offset and limit
+                .buffer(2, 1)
+                .map(window -> step(window, cursor, unpaged))
+                .takeUntil(step -> step.last)
+                .concatMap(step -> step.items, 1)
+                .take(limit);
+    }
+
+    private static <T> Step<T> step(List<Page<T>> window, long cursor, Supplier<Flux<T>> unpaged) {
+        Page<T> page = window.get(0);
+        if (page.items.size() > page.requested) {
+            // limit ignored: the page is the whole list
+            return new Step<>(Flux.fromIterable(page.items).skip(cursor), true);
+        }
+        if (!page.items.isEmpty() && window.size() == 2 && window.get(1).items.equals(page.items)) {
+            // offset ignored: the same page came back twice
+            return new Step<>(unpaged.get().skip(cursor), true);
+        }
+        return new Step<>(Flux.fromIterable(page.items), false);
+    }
+
+    static class Step<T> {
+        final Flux<T> items;
+        final boolean last;
+
+        Step(Flux<T> items, boolean last) {
+            this.items = items;
+            this.last = last;
+        }
+    }
+
+    static class Page<T> {
+        final List<T> items;
+        final long requested;
+
+        Page(List<T> items, long requested) {
+            this.items = items;
+            this.requested = requested;
+        }
+    }
+
+}
@@ -1,51 +1,94 @@
 package com.spring.training.client;
 
+import com.spring.training.config.CacheConfig;
+import com.spring.training.config.ClientConfig;
+import com.spring.training.config.PagingConfig;
 import com.spring.training.exception.EntityNotFoundException;
 import com.spring.training.domain.Person;
-import lombok.AllArgsConstructor;
+import com.spring.training.resilience.ResiliencePolicy;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-@AllArgsConstructor
+import java.util.List;
+
+import static com.spring.training.util.Headers.IDEMPOTENCY_KEY;
+
 @Component
 public class PersonClient {
     
+    static final ParameterizedTypeReference<List<Person>> PAGE = new ParameterizedTypeReference<List<Person>>() {
+    };
+
     final WebClient client;
+    final ResiliencePolicy policy;
+    final ClientConfig config;
+    final RequestCoalescer<Long, Person> inFlight = new RequestCoalescer<>();
+    final ConditionalRequests<Long, Person> validators;
 
-    public Flux<Person> getPersons() {
-        return client.get().uri("/persons")
+    public PersonClient(WebClient client, ResiliencePolicy policy, ClientConfig config) {
+        this.client = client;
+        this.policy = policy;
+        this.config = config;
+        this.validators = new ConditionalRequests<>(Person.class, config.getCache().getOrDefault("persons", new CacheConfig()).getMaxSize());
+    }
+
+    public Flux<Person> getPersons(long cursor, long limit) {
+        PagingConfig paging = config.getPaging();
+        if (!paging.isEnabled()) {
+            return allPersons()
+                    .skip(cursor)
+                    .take(limit);
+        }
+        return Paging.pages(cursor, limit, paging.getPageSize(), (offset, count) -> policy.read("persons.getPersons",
+                client.get().uri("/persons?offset={offset}&limit={limit}", offset, count)
+                        .retrieve()
+                        .bodyToMono(PAGE)), this::allPersons);
+    }
+
+    private Flux<Person> allPersons() {
+        return policy.stream("persons.getPersons", client.get().uri("/persons")
+                .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToFlux(Person.class);
+                .bodyToFlux(Person.class));
     }
 
     public Mono<Person> getPerson(Long id) {
-        return client.get().uri("/persons/{id}", id)
-                .retrieve()
-                .onStatus(HttpStatus::is4xxClientError, response -> Mono.error(new EntityNotFoundException("person not found with id : " + id)))
-                .bodyToMono(Person.class);
+        return policy.bound("persons.getPerson", inFlight.execute(id, () -> policy.read("persons.getPerson", validators.get(id,
+                () -> client.get().uri("/persons/{id}", id),
+                () -> new EntityNotFoundException("person not found with id : " + id)))));
     }
 
-    public Mono<Person> createPerson(Person person) {
-        return client.post().uri("/persons")
+    public Mono<Person> createPerson(Person person, String idempotencyKey) {
+        Mono<Person> request = client.post().uri("/persons")
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+                    }
+                })
                 .body(Mono.just(person), Person.class)
                 .retrieve()
                 .bodyToMono(Person.class);
+        return idempotencyKey != null ? policy.idempotent("persons.createPerson", request) : policy.write("persons.createPerson", request);
     }
 
     public Mono<Person> updatePerson(Long id, Person person) {
-        return client.put().uri("/persons/{id}", id)
+        return policy.idempotent("persons.updatePerson", client.put().uri("/persons/{id}", id)
                 .body(Mono.just(person), Person.class)
                 .retrieve()
                 .onStatus(HttpStatus::is4xxClientError, response -> Mono.error(new EntityNotFoundException("person not found with id : " + id)))
-                .bodyToMono(Person.class);
+                .bodyToMono(Person.class))
+                .doFinally(signal -> validators.invalidate(id));
     }
 
     public Mono<Void> deletePerson(Long id) {
-        return client.delete().uri("/persons/{id}", id)
+        return policy.idempotent("persons.deletePerson", client.delete().uri("/persons/{id}", id)
                 .retrieve()
-                .bodyToMono(Void.class);
+                .bodyToMono(Void.class))
+                .doFinally(signal -> validators.invalidate(id));
     }
 }
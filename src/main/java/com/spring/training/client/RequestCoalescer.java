@@ -0,0 +1,33 @@
+package com.spring.training.client;
+
+import com.spring.training.resilience.Deadline;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class RequestCoalescer<K, V> {
+
+    final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> request) {
+        return Mono.defer(() -> {
+            Mono<V> shared = inFlight.get(key);
+            if (shared != null) {
+                return shared;
+            }
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            // callers bound their own wait, so the shared call must not inherit the first caller's deadline
+            Mono<V> created = request.get()
+                    .contextWrite(context -> context.delete(Deadline.KEY))
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .share();
+            self.set(created);
+            Mono<V> previous = inFlight.putIfAbsent(key, created);
+            return previous != null ? previous : created;
+        });
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.spring.training.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public final class BinaryCodecs {
+
+    private BinaryCodecs() {
+    }
+
+    public static void register(CodecConfigurer configurer) {
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        configurer.customCodecs().register(new Jackson2SmileEncoder(smile));
+        configurer.customCodecs().register(new Jackson2SmileDecoder(smile));
+        configurer.customCodecs().register(new Jackson2CborEncoder(cbor));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cbor));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.spring.training.codec;
+
+import com.spring.training.config.CodecConfig;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class CodecNegotiationFilter implements ExchangeFilterFunction {
+
+    final MediaType binary;
+    final List<MediaType> accept;
+    volatile boolean binaryBodies;
+
+    public CodecNegotiationFilter(CodecConfig config) {
+        this.binary = config.getFormat().getMediaType();
+        this.accept = Arrays.asList(binary,
+                new MediaType(MediaType.APPLICATION_JSON, Collections.singletonMap("q", "0.9")));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (MediaType.APPLICATION_JSON.equals(binary)) {
+            return next.exchange(request);
+        }
+        boolean binaryBody = binaryBodies && hasJsonBody(request);
+        return next.exchange(negotiate(request, binaryBody))
+                .flatMap(response -> {
+                    if (binaryBody && response.statusCode() == HttpStatus.UNSUPPORTED_MEDIA_TYPE) {
+                        binaryBodies = false;
+                        return response.releaseBody().then(next.exchange(negotiate(request, false)));
+                    }
+                    if (binary.isCompatibleWith(response.headers().contentType().orElse(null))) {
+                        binaryBodies = true;
+                    }
+                    return Mono.just(response);
+                });
+    }
+
+    private ClientRequest negotiate(ClientRequest request, boolean binaryBody) {
+        return ClientRequest.from(request)
+                .headers(headers -> {
+                    if (headers.getAccept().isEmpty()) {
+                        headers.setAccept(accept);
+                    }
+                    if (binaryBody) {
+                        headers.setContentType(binary);
+                    }
+                })
+                .build();
+    }
+
+    private static boolean hasJsonBody(ClientRequest request) {
+        HttpMethod method = request.method();
+        return (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH)
+                && MediaType.APPLICATION_JSON.isCompatibleWith(request.headers().getContentType());
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.spring.training.compression;
+
+import com.spring.training.config.CompressionConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CompressionWebFilter implements WebFilter, Ordered {
+
+    static final String GZIP = "gzip";
+
+    final CompressionConfig config;
+    final List<MediaType> mimeTypes;
+    final DistributionSummary ratio;
+
+    public CompressionWebFilter(CompressionConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.mimeTypes = config.getMimeTypes().stream().map(MediaType::parseMediaType).collect(Collectors.toList());
+        this.ratio = DistributionSummary.builder("http.server.compression.ratio")
+                .description("Compressed to uncompressed size of gzip encoded responses")
+                .register(registry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 50;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() == HttpMethod.HEAD || !acceptsGzip(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new CompressingResponse(exchange.getResponse())).build());
+    }
+
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        for (String value : headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                    return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    class CompressingResponse extends ServerHttpResponseDecorator {
+
+        CompressingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!shouldCompress()) {
+                return super.writeWith(body);
+            }
+            GzipCompressor compressor = start();
+            return super.writeWith(Flux.from(body)
+                    .map(compressor::compress)
+                    .concatWith(Mono.fromCallable(() -> finish(compressor)))
+                    .doOnCancel(compressor::end)
+                    .doOnError(error -> compressor.end()));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (!shouldCompress()) {
+                return super.writeAndFlushWith(body);
+            }
+            GzipCompressor compressor = start();
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(chunk -> Flux.from(chunk).map(compressor::compress))
+                    .concatWith(Mono.just(Flux.defer(() -> Mono.fromCallable(() -> finish(compressor)))))
+                    .doOnCancel(compressor::end)
+                    .doOnError(error -> compressor.end()));
+        }
+
+        private boolean shouldCompress() {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            long contentLength = headers.getContentLength();
+            return !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                    && contentType != null
+                    && mimeTypes.stream().anyMatch(type -> type.isCompatibleWith(contentType))
+                    && (contentLength < 0 || contentLength >= config.getMinResponseSize().toBytes());
+        }
+
+        private GzipCompressor start() {
+            HttpHeaders headers = getHeaders();
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return new GzipCompressor(bufferFactory(), config.getLevel());
+        }
+
+        private DataBuffer finish(GzipCompressor compressor) {
+            DataBuffer trailer = compressor.finish();
+            if (compressor.getBytesIn() > 0) {
+                ratio.record((double) compressor.getBytesOut() / compressor.getBytesIn());
+            }
+            return trailer;
+        }
+
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.spring.training.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+class GzipCompressor {
+
+    static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    final DataBufferFactory bufferFactory;
+    final Deflater deflater;
+    final CRC32 crc = new CRC32();
+    final byte[] chunk = new byte[8192];
+    long bytesIn;
+    long bytesOut;
+    boolean started;
+    boolean ended;
+
+    GzipCompressor(DataBufferFactory bufferFactory, int level) {
+        this.bufferFactory = bufferFactory;
+        this.deflater = new Deflater(level, true);
+    }
+
+    synchronized DataBuffer compress(DataBuffer buffer) {
+        try {
+            if (ended) {
+                return bufferFactory.allocateBuffer(0);
+            }
+            byte[] input = new byte[buffer.readableByteCount()];
+            buffer.read(input);
+            ByteArrayOutputStream output = start();
+            crc.update(input);
+            bytesIn += input.length;
+            deflater.setInput(input);
+            int length;
+            do {
+                length = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+                output.write(chunk, 0, length);
+            } while (length == chunk.length);
+            return wrap(output);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    synchronized DataBuffer finish() {
+        if (ended) {
+            return bufferFactory.allocateBuffer(0);
+        }
+        ByteArrayOutputStream output = start();
+        deflater.finish();
+        while (!deflater.finished()) {
+            output.write(chunk, 0, deflater.deflate(chunk));
+        }
+        writeInt(output, (int) crc.getValue());
+        writeInt(output, (int) bytesIn);
+        end();
+        return wrap(output);
+    }
+
+    synchronized void end() {
+        if (!ended) {
+            ended = true;
+            deflater.end();
+        }
+    }
+
+    synchronized long getBytesIn() {
+        return bytesIn;
+    }
+
+    synchronized long getBytesOut() {
+        return bytesOut;
+    }
+
+    private ByteArrayOutputStream start() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if (!started) {
+            started = true;
+            output.write(HEADER, 0, HEADER.length);
+        }
+        return output;
+    }
+
+    private DataBuffer wrap(ByteArrayOutputStream output) {
+        bytesOut += output.size();
+        return bufferFactory.wrap(output.toByteArray());
+    }
+
+    private static void writeInt(ByteArrayOutputStream output, int value) {
+        output.write(value);
+        output.write(value >> 8);
+        output.write(value >> 16);
+        output.write(value >> 24);
+    }
+
+}
@@ -1,87 +1,240 @@
 package com.spring.training.config;
 
-import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
-import lombok.SneakyThrows;
+import com.ecwid.consul.v1.ConsulClient;
+import com.spring.training.cache.ReactiveCache;
+import com.spring.training.codec.BinaryCodecs;
+import com.spring.training.codec.CodecNegotiationFilter;
+import com.spring.training.compression.CompressionWebFilter;
+import com.spring.training.discovery.CatalogLoadBalancerConfiguration;
+import com.spring.training.discovery.ServiceCatalog;
+import com.spring.training.etag.EtagWebFilter;
+import com.spring.training.limiter.ConcurrencyLimitWebFilter;
+import com.spring.training.domain.Country;
+import com.spring.training.domain.Person;
+import com.spring.training.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import com.spring.training.loadbalancer.LatencyTracker;
+import com.spring.training.logging.WireLogExchangeFilter;
+import com.spring.training.logging.WireLogWebFilter;
+import com.spring.training.logging.WireLogger;
+import com.spring.training.metrics.UpstreamMetricsFilter;
+import com.spring.training.resilience.DeadlineExchangeFilter;
+import com.spring.training.resilience.DeadlineWebFilter;
+import com.spring.training.resilience.ResiliencePolicy;
+import com.spring.training.tls.HandshakeMetrics;
+import com.spring.training.tls.TlsContexts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.boot.web.server.Ssl;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.consul.discovery.ConsulDiscoveryProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.http.codec.FormHttpMessageReader;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.web.reactive.function.client.ServerBearerExchangeFilterFunction;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.config.WebFluxConfigurationSupport;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.WebFilter;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
-import reactor.netty.tcp.SslProvider;
+import reactor.netty.resources.ConnectionProvider;
 
-import javax.net.ssl.KeyManagerFactory;
-import javax.net.ssl.TrustManagerFactory;
-import java.security.KeyStore;
+import java.util.Arrays;
 
 @Configuration
+@LoadBalancerClients(defaultConfiguration = {LatencyAwareLoadBalancerConfiguration.class, CatalogLoadBalancerConfiguration.class})
 @Slf4j
 public class ApplicationConfig extends WebFluxConfigurationSupport {
 
     @Bean
     @Profile("!ssl")
-    public WebClient webClient(ClientConfig config) {
-        return buildWebClient(config, createHttpClient());
+    public WebClient webClient(ClientConfig config, ConnectionProvider connectionProvider, LatencyTracker tracker, WireLogger wireLogger, MeterRegistry registry) {
+        return buildWebClient(config, createHttpClient(config, connectionProvider, false), tracker, wireLogger, registry);
     }
 
     @Bean
     @Profile("ssl")
-    public WebClient webSSLClient(ClientConfig config) {
-        return buildWebClient(config, createHttpClient().secure(spec -> configureSSL(spec, config)));
+    public WebClient webSSLClient(ClientConfig config, TlsConfig tlsConfig, HandshakeMetrics handshakeMetrics, ConnectionProvider connectionProvider,
+                                  LatencyTracker tracker, WireLogger wireLogger, MeterRegistry registry) {
+        log.info("Upstream TLS uses the {} provider", TlsContexts.provider(tlsConfig));
+        HttpClient httpClient = createHttpClient(config, connectionProvider, true)
+                .secure(spec -> spec.sslContext(TlsContexts.forClient(config.getSsl(), tlsConfig, config.getProtocol().isHttp2())))
+                .doOnChannelInit((observer, channel, address) -> handshakeMetrics.observeClient(channel));
+        return buildWebClient(config, httpClient, tracker, wireLogger, registry);
     }
 
-    private HttpClient createHttpClient() {
-        return HttpClient.create().doOnConnected(connection -> connection
-                .addHandlerLast(new ReadTimeoutHandler(10))
-                .addHandlerLast(new WriteTimeoutHandler(10)));
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(ClientConfig config) {
+        PoolConfig pool = config.getPool();
+        ProtocolConfig protocol = config.getProtocol();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName())
+                .maxConnections(protocol.isHttp2() && !protocol.isFallback() ? protocol.getMaxConnections() : pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true);
+        return (pool.getLeasing() == PoolConfig.Leasing.LIFO ? builder.lifo() : builder.fifo()).build();
     }
 
-    private WebClient buildWebClient(ClientConfig config, HttpClient httpClient) {
+    private HttpClient createHttpClient(ClientConfig config, ConnectionProvider connectionProvider, boolean secure) {
+        return HttpClient.create(connectionProvider)
+                .protocol(protocols(config.getProtocol(), secure))
+                .compress(config.isCompression())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getPool().getConnectTimeout().toMillis());
+    }
+
+    private static HttpProtocol[] protocols(ProtocolConfig protocol, boolean secure) {
+        if (!protocol.isHttp2()) {
+            return new HttpProtocol[]{HttpProtocol.HTTP11};
+        }
+        HttpProtocol http2 = secure ? HttpProtocol.H2 : HttpProtocol.H2C;
+        return protocol.isFallback() ? new HttpProtocol[]{http2, HttpProtocol.HTTP11} : new HttpProtocol[]{http2};
+    }
+
+    private WebClient buildWebClient(ClientConfig config, HttpClient httpClient, LatencyTracker tracker, WireLogger wireLogger, MeterRegistry registry) {
         return webClientBuilder()
                 .baseUrl(config.getUrl())
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(BinaryCodecs::register)
                 .filter(new ServerBearerExchangeFilterFunction())
-                .exchangeStrategies(ExchangeStrategies.builder().codecs(c -> c.defaultCodecs().enableLoggingRequestDetails(true)).build())
+                .filter(tracker)
+                .filter(new UpstreamMetricsFilter(registry))
+                .filter(new CodecNegotiationFilter(config.getCodec()))
+                .filter(new DeadlineExchangeFilter())
+                .filter(new WireLogExchangeFilter(wireLogger))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
 
+    @Override
+    protected void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        BinaryCodecs.register(configurer);
+    }
+
     @Bean
     @LoadBalanced
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
 
-    @SneakyThrows
-    private void configureSSL(SslProvider.SslContextSpec spec, ClientConfig config) {
-        String type = config.getSsl().get("key-store-type");
-        KeyStore keyStore = KeyStore.getInstance(type);
-        DefaultResourceLoader loader = new DefaultResourceLoader();
-        String file = config.getSsl().get("key-store");
-        String password = config.getSsl().get("key-store-password");
-        keyStore.load(loader.getResource(file).getInputStream(), password.toCharArray());
-        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
-        keyManagerFactory.init(keyStore, password.toCharArray());
-        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-        trustManagerFactory.init(keyStore);
-        spec.sslContext(SslContextBuilder.forClient()
-                .keyManager(keyManagerFactory)
-                .trustManager(trustManagerFactory)
-                .build());
+    @Bean
+    public LatencyTracker latencyTracker(ClientConfig config, MeterRegistry registry) {
+        return new LatencyTracker(config.getLoadBalancer(), registry);
+    }
+
+    @Bean
+    public ResiliencePolicy resiliencePolicy(ClientConfig config, MeterRegistry registry) {
+        return new ResiliencePolicy(config, registry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public WireLogger wireLogger(WireLogConfig config, MeterRegistry registry) {
+        return new WireLogger(config, registry);
+    }
+
+    @Bean
+    public WireLogWebFilter wireLogWebFilter(WireLogger wireLogger) {
+        return new WireLogWebFilter(wireLogger);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "wire-log")
+    public WireLogConfig wireLogConfig() {
+        return new WireLogConfig();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "compression", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CompressionWebFilter compressionWebFilter(CompressionConfig config, MeterRegistry registry) {
+        return new CompressionWebFilter(config, registry);
+    }
+
+    @Bean
+    public DeadlineWebFilter deadlineWebFilter(ClientConfig config, MeterRegistry registry) {
+        return new DeadlineWebFilter(config.getTimeout(), registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ConcurrencyLimitWebFilter concurrencyLimitWebFilter(LimiterConfig config, MeterRegistry registry) {
+        return new ConcurrencyLimitWebFilter(config, registry);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "limiter")
+    public LimiterConfig limiterConfig() {
+        return new LimiterConfig();
+    }
+
+    @Bean
+    public EtagWebFilter etagWebFilter() {
+        return new EtagWebFilter(Arrays.asList("/persons/{id}", "/countries/{name}"));
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "compression")
+    public CompressionConfig compressionConfig() {
+        return new CompressionConfig();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "remote.services.catalog", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ServiceCatalog serviceCatalog(ConsulClient consulClient, ConsulDiscoveryProperties properties, ClientConfig config) {
+        return new ServiceCatalog(consulClient, properties, config.getCatalog());
+    }
+
+    @Bean
+    @Profile("fast-startup")
+    public static LazyInitializationExcludeFilter requestPathExcludeFilter() {
+        return (beanName, definition, type) -> WebFilter.class.isAssignableFrom(type)
+                || SecurityWebFilterChain.class.isAssignableFrom(type)
+                || ReactiveJwtDecoder.class.isAssignableFrom(type)
+                || WebClient.class.isAssignableFrom(type)
+                || ServiceCatalog.class.isAssignableFrom(type)
+                || AnnotatedElementUtils.hasAnnotation(type, RestController.class);
+    }
+
+    @Bean
+    @Profile("ssl")
+    public NettyServerCustomizer tlsServerCustomizer(ServerProperties serverProperties, TlsConfig tlsConfig, HandshakeMetrics handshakeMetrics) {
+        Ssl ssl = serverProperties.getSsl();
+        if (ssl == null || !ssl.isEnabled()) {
+            return server -> server;
+        }
+        boolean http2 = serverProperties.getHttp2() != null && serverProperties.getHttp2().isEnabled();
+        log.info("Inbound TLS uses the {} provider", TlsContexts.provider(tlsConfig));
+        return server -> server
+                .secure(spec -> spec.sslContext(TlsContexts.forServer(ssl, tlsConfig, http2)))
+                .doOnChannelInit((observer, channel, address) -> handshakeMetrics.observeServer(channel));
+    }
+
+    @Bean
+    @Profile("ssl")
+    public HandshakeMetrics handshakeMetrics(MeterRegistry registry) {
+        return new HandshakeMetrics(registry);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "tls")
+    public TlsConfig tlsConfig() {
+        return new TlsConfig();
     }
 
     @Bean
@@ -95,11 +248,14 @@ public class ApplicationConfig extends WebFluxConfigurationSupport {
         return new ClientConfig();
     }
 
-    @Override
-    public void configureHttpMessageCodecs(ServerCodecConfigurer config) {
-        FormHttpMessageReader reader = new FormHttpMessageReader();
-        reader.setEnableLoggingRequestDetails(true);
-        config.customCodecs().register(reader);
+    @Bean
+    public ReactiveCache<String, Country> countryCache(ClientConfig config, MeterRegistry registry) {
+        return new ReactiveCache<>("countries", config.getCache().getOrDefault("countries", new CacheConfig()), registry);
+    }
+
+    @Bean
+    public ReactiveCache<Long, Person> personCache(ClientConfig config, MeterRegistry registry) {
+        return new ReactiveCache<>("persons", config.getCache().getOrDefault("persons", new CacheConfig()), registry);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class BalancerConfig {
+    String strategy = "round-robin";
+    Duration decay = Duration.ofSeconds(10);
+    Duration slowStart = Duration.ofSeconds(30);
+    Duration errorPenalty = Duration.ofSeconds(1);
+}
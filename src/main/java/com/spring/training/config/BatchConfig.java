@@ -0,0 +1,9 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+@Data
+public class BatchConfig {
+    int concurrency = 16;
+    int maxSize = 200;
+}
@@ -0,0 +1,15 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class BreakerConfig {
+    boolean enabled = true;
+    float failureRateThreshold = 50;
+    int slidingWindowSize = 100;
+    int minimumNumberOfCalls = 20;
+    Duration waitDurationInOpenState = Duration.ofSeconds(10);
+    int permittedNumberOfCallsInHalfOpenState = 5;
+}
@@ -0,0 +1,13 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class CacheConfig {
+    boolean enabled = true;
+    long maxSize = 10_000;
+    Duration ttl = Duration.ofMinutes(1);
+    Duration staleWhileRevalidate = Duration.ofSeconds(30);
+}
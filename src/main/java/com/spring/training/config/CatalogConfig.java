@@ -0,0 +1,18 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CatalogConfig {
+    boolean enabled = true;
+    List<String> services = new ArrayList<>();
+    Duration wait = Duration.ofSeconds(55);
+    Duration initialTimeout = Duration.ofSeconds(5);
+    Duration minBackoff = Duration.ofSeconds(1);
+    Duration maxBackoff = Duration.ofSeconds(30);
+    int watchThreads = 16;
+}
@@ -2,10 +2,25 @@ package com.spring.training.config;
 
 import lombok.Data;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Data
 public class ClientConfig {
     String url;
     Map<String, String> ssl;
+    boolean compression = true;
+    Map<String, CacheConfig> cache = new HashMap<>();
+    BatchConfig batch = new BatchConfig();
+    ImportConfig bulkImport = new ImportConfig();
+    PoolConfig pool = new PoolConfig();
+    ProtocolConfig protocol = new ProtocolConfig();
+    BalancerConfig loadBalancer = new BalancerConfig();
+    CatalogConfig catalog = new CatalogConfig();
+    HedgeConfig hedge = new HedgeConfig();
+    BreakerConfig breaker = new BreakerConfig();
+    RetryConfig retry = new RetryConfig();
+    TimeoutConfig timeout = new TimeoutConfig();
+    PagingConfig paging = new PagingConfig();
+    CodecConfig codec = new CodecConfig();
 }
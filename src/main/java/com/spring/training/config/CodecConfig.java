@@ -0,0 +1,23 @@
+package com.spring.training.config;
+
+import lombok.Data;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@Data
+public class CodecConfig {
+    Format format = Format.JSON;
+
+    @Getter
+    public enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        SMILE(new MediaType("application", "x-jackson-smile")),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.spring.training.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Data
+public class CompressionConfig {
+    boolean enabled = true;
+    int level = 6;
+    DataSize minResponseSize = DataSize.ofKilobytes(2);
+    List<String> mimeTypes = new ArrayList<>(Arrays.asList("application/json", "application/x-ndjson",
+            "text/event-stream", "text/plain", "application/x-jackson-smile", "application/cbor"));
+}
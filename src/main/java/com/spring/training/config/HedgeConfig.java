@@ -0,0 +1,14 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class HedgeConfig {
+    boolean enabled;
+    double percentile = 0.95;
+    int window = 1000;
+    Duration initialDelay = Duration.ofMillis(100);
+    Duration minDelay = Duration.ofMillis(5);
+}
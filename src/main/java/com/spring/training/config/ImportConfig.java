@@ -0,0 +1,9 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+@Data
+public class ImportConfig {
+    int prefetch = 500;
+    int concurrency = 32;
+}
@@ -0,0 +1,17 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class JwtConfig {
+    boolean cacheEnabled = true;
+    long cacheSize = 10_000;
+    int maxInternedRoleSets = 1000;
+    Duration jwkRefreshInterval = Duration.ofMinutes(5);
+    double jwkRefreshAheadRatio = 0.8;
+    Duration jwkRetryInterval = Duration.ofSeconds(30);
+    Duration jwkMinRefreshInterval = Duration.ofSeconds(30);
+    Duration jwkFetchTimeout = Duration.ofSeconds(5);
+}
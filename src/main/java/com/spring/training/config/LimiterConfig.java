@@ -0,0 +1,21 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class LimiterConfig {
+    boolean enabled = true;
+    Map<String, String> groups = new LinkedHashMap<>();
+    int initialLimit = 20;
+    int minLimit = 5;
+    int maxLimit = 500;
+    int longWindow = 600;
+    double smoothing = 0.2;
+    double tolerance = 1.5;
+    double backoffRatio = 0.9;
+    Duration retryAfter = Duration.ofSeconds(1);
+}
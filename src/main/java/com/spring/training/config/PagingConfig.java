@@ -0,0 +1,9 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+@Data
+public class PagingConfig {
+    boolean enabled = false;
+    int pageSize = 100;
+}
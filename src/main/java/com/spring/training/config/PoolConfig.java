@@ -0,0 +1,22 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class PoolConfig {
+    String name = "upstream";
+    int maxConnections = 500;
+    int pendingAcquireMaxCount = 1000;
+    Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+    Duration maxIdleTime = Duration.ofSeconds(30);
+    Duration maxLifeTime = Duration.ofMinutes(5);
+    Duration evictionInterval = Duration.ofSeconds(60);
+    Leasing leasing = Leasing.FIFO;
+    Duration connectTimeout = Duration.ofSeconds(2);
+
+    public enum Leasing {
+        FIFO, LIFO
+    }
+}
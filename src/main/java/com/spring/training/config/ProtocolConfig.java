@@ -0,0 +1,10 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+@Data
+public class ProtocolConfig {
+    boolean http2 = false;
+    boolean fallback = true;
+    int maxConnections = 4;
+}
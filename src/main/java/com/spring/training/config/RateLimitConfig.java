@@ -0,0 +1,29 @@
+package com.spring.training.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+@Data
+public class RateLimitConfig {
+    boolean enabled = true;
+    KeyBy keyBy = KeyBy.SUBJECT;
+    Bucket reads = new Bucket(50, 100);
+    Bucket writes = new Bucket(5, 10);
+    long maxKeys = 100_000;
+    Duration idleTimeout = Duration.ofMinutes(10);
+
+    public enum KeyBy {
+        SUBJECT, ROLE
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Bucket {
+        double rate;
+        int burst;
+    }
+}
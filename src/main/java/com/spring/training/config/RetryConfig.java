@@ -0,0 +1,16 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class RetryConfig {
+    boolean enabled = true;
+    int maxRetries = 2;
+    Duration minBackoff = Duration.ofMillis(50);
+    Duration maxBackoff = Duration.ofSeconds(1);
+    double jitter = 0.5;
+    double budgetRatio = 0.1;
+    int budgetMaxTokens = 100;
+}
@@ -1,12 +1,18 @@
 package com.spring.training.config;
 
+import com.spring.training.limiter.RateLimitWebFilter;
 import com.spring.training.util.Cors;
+import com.spring.training.util.JwkSetJwtDecoder;
 import com.spring.training.util.JwtConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
@@ -17,20 +23,50 @@ import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
     static final String[] whitelist = {
-            "/actuator/**", "/v3/api-docs/**", "/swagger-ui.html", "/webjars/**", "/swagger-ui/**",
+            "/actuator/health", "/actuator/health/**", "/v3/api-docs/**", "/swagger-ui.html", "/webjars/**", "/swagger-ui/**",
             "/*/v3/api-docs", "/swagger-config"
     };
 
     @Bean
-    public SecurityWebFilterChain securityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityFilterChain(ServerHttpSecurity http, JwtConverter jwtConverter) {
         http.authorizeExchange(exchanges -> exchanges
                 .pathMatchers(whitelist).permitAll()
+                .pathMatchers("/actuator/**").hasRole("admin")
                 .pathMatchers("/**").authenticated())
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt().jwtAuthenticationConverter(new JwtConverter()))
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt().jwtAuthenticationConverter(jwtConverter))
                 .cors().and().csrf().disable();
         return http.build();
     }
 
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty("spring.security.oauth2.resourceserver.jwt.jwk-set-uri")
+    public ReactiveJwtDecoder jwtDecoder(OAuth2ResourceServerProperties properties, JwtConfig config) {
+        return new JwkSetJwtDecoder(properties.getJwt().getJwkSetUri(), config);
+    }
+
+    @Bean
+    public JwtConverter jwtConverter(JwtConfig config, MeterRegistry registry) {
+        return new JwtConverter(config, registry);
+    }
+
+    @Bean
+    @ConfigurationProperties("jwt")
+    public JwtConfig jwtConfig() {
+        return new JwtConfig();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RateLimitWebFilter rateLimitWebFilter(RateLimitConfig config, MeterRegistry registry) {
+        return new RateLimitWebFilter(config, registry);
+    }
+
+    @Bean
+    @ConfigurationProperties("rate-limit")
+    public RateLimitConfig rateLimitConfig() {
+        return new RateLimitConfig();
+    }
+
     @Bean
     @ConfigurationProperties("cors")
     public Cors cors() {
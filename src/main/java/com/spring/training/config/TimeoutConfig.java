@@ -0,0 +1,18 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+public class TimeoutConfig {
+    Duration defaultTimeout = Duration.ofSeconds(10);
+    Duration maxDeadline = Duration.ofSeconds(60);
+    Map<String, Duration> methods = new HashMap<>();
+
+    public Duration getTimeout(String method) {
+        return methods.getOrDefault(method, defaultTimeout);
+    }
+}
@@ -0,0 +1,17 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class TlsConfig {
+    Provider provider = Provider.JDK;
+    boolean fallback = true;
+    long sessionCacheSize = 10_000;
+    Duration sessionTimeout = Duration.ofHours(1);
+
+    public enum Provider {
+        JDK, OPENSSL
+    }
+}
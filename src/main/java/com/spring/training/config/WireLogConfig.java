@@ -0,0 +1,23 @@
+package com.spring.training.config;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Data
+public class WireLogConfig {
+    Mode mode = Mode.SAMPLED;
+    double sampleRate = 0.001;
+    String forceHeader = "X-Wire-Log";
+    boolean forceHeaderEnabled;
+    List<String> redactedHeaders = new ArrayList<>(Arrays.asList("Authorization", "Cookie", "Set-Cookie", "Proxy-Authorization"));
+    List<String> redactedFields = new ArrayList<>(Arrays.asList("password", "secret", "token", "access_token", "refresh_token", "email"));
+    int maxBodyBytes = 1024;
+    int queueSize = 10_000;
+
+    public enum Mode {
+        OFF, SAMPLED, ALL
+    }
+}
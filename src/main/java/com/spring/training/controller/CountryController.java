@@ -2,6 +2,9 @@ package com.spring.training.controller;
 
 import com.spring.training.annotation.IsAdmin;
 import com.spring.training.domain.Country;
+import com.spring.training.domain.ImportResult;
+import com.spring.training.domain.LookupResult;
+import com.spring.training.exception.RequestException;
 import com.spring.training.service.CountryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +17,10 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.spring.training.util.Headers.IDEMPOTENCY_KEY;
+
 @RestController
 @RequestMapping("countries")
 @AllArgsConstructor
@@ -21,16 +28,30 @@ public class CountryController {
 
     final CountryService service;
 
-    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @GetMapping(params = "!names", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     @Operation(summary = "getCountries", description = "return the list of countries")
-    @ApiResponse(responseCode = "200", description = "countries found successfully")
-    public Flux<Country> getCountries() {
-        return service.getCountries();
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "countries found successfully"),
+            @ApiResponse(responseCode = "400", description = "negative cursor or limit")})
+    public Flux<Country> getCountries(@Parameter(description = "position of the first country to return") @RequestParam(value = "cursor", defaultValue = "0") long cursor,
+                                      @Parameter(description = "maximum number of countries to return") @RequestParam(value = "limit", required = false) Long limit) {
+        if (cursor < 0 || limit != null && limit < 0) {
+            return Flux.error(new RequestException("cursor and limit must not be negative", HttpStatus.BAD_REQUEST));
+        }
+        return service.getCountries(cursor, limit != null ? limit : Long.MAX_VALUE);
+    }
+
+    @GetMapping(params = "names", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "getCountriesByNames", description = "return the countries matching the given names in order")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "countries looked up successfully"),
+            @ApiResponse(responseCode = "400", description = "too many names requested")})
+    public Flux<LookupResult<String, Country>> getCountriesByNames(@Parameter(description = "country names", required = true) @RequestParam("names") List<String> names) {
+        return service.getCountries(names);
     }
 
     @GetMapping("{name}")
     @Operation(summary = "getCountry", description = "return a country by its name")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "country found successfully"),
+            @ApiResponse(responseCode = "304", description = "country not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "country not found")})
     public Mono<Country> getCountry(@Parameter(description = "country name", required = true) @PathVariable("name") String name) {
         return service.getCountry(name);
@@ -42,8 +63,19 @@ public class CountryController {
     @ApiResponses({@ApiResponse(responseCode = "201", description = "country created successfully"),
             @ApiResponse(responseCode = "409", description = "country already created")})
     @IsAdmin
-    public Mono<Country> createCountry(@RequestBody Country country) {
-        return service.createCountry(country);
+    public Mono<Country> createCountry(@RequestBody Country country,
+                                       @Parameter(description = "key making retries of the creation safe") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return service.createCountry(country, idempotencyKey);
+    }
+
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "importCountries", description = "create the countries of a NDJSON stream, returning one result per record")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "records processed, see the status of each result"),
+            @ApiResponse(responseCode = "400", description = "malformed NDJSON stream")})
+    @IsAdmin
+    public Flux<ImportResult<Country>> importCountries(@RequestBody Flux<Country> countries,
+                                                       @Parameter(description = "key making retries of the import safe") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return service.importCountries(countries, idempotencyKey);
     }
 
     @PutMapping("{name}")
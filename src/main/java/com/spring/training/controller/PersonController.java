@@ -1,7 +1,10 @@
 package com.spring.training.controller;
 
 import com.spring.training.annotation.IsAdmin;
+import com.spring.training.domain.ImportResult;
+import com.spring.training.domain.LookupResult;
 import com.spring.training.domain.Person;
+import com.spring.training.exception.RequestException;
 import com.spring.training.service.PersonService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +17,10 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.spring.training.util.Headers.IDEMPOTENCY_KEY;
+
 @RestController
 @RequestMapping("persons")
 @AllArgsConstructor
@@ -21,16 +28,30 @@ public class PersonController {
 
     final PersonService service;
 
-    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @GetMapping(params = "!ids", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
     @Operation(summary = "getPersons", description = "return the list of persons")
-    @ApiResponse(responseCode = "200", description = "persons found successfully")
-    public Flux<Person> getPersons() {
-        return service.getPersons();
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "persons found successfully"),
+            @ApiResponse(responseCode = "400", description = "negative cursor or limit")})
+    public Flux<Person> getPersons(@Parameter(description = "position of the first person to return") @RequestParam(value = "cursor", defaultValue = "0") long cursor,
+                                   @Parameter(description = "maximum number of persons to return") @RequestParam(value = "limit", required = false) Long limit) {
+        if (cursor < 0 || limit != null && limit < 0) {
+            return Flux.error(new RequestException("cursor and limit must not be negative", HttpStatus.BAD_REQUEST));
+        }
+        return service.getPersons(cursor, limit != null ? limit : Long.MAX_VALUE);
+    }
+
+    @GetMapping(params = "ids", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "getPersonsByIds", description = "return the persons matching the given ids in order")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "persons looked up successfully"),
+            @ApiResponse(responseCode = "400", description = "too many ids requested")})
+    public Flux<LookupResult<Long, Person>> getPersonsByIds(@Parameter(description = "person ids", required = true) @RequestParam("ids") List<Long> ids) {
+        return service.getPersons(ids);
     }
 
     @GetMapping("{id}")
     @Operation(summary = "getPerson", description = "return a person by its id")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "person found successfully"),
+            @ApiResponse(responseCode = "304", description = "person not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "person not found")})
     public Mono<Person> getPerson(@Parameter(description = "person id", required = true) @PathVariable("id") Long id) {
         return service.getPerson(id);
@@ -42,8 +63,19 @@ public class PersonController {
     @ApiResponses({@ApiResponse(responseCode = "201", description = "person created successfully"),
             @ApiResponse(responseCode = "404", description = "country not found")})
     @IsAdmin
-    public Mono<Person> createPerson(@RequestBody Person person) {
-        return service.createPerson(person);
+    public Mono<Person> createPerson(@RequestBody Person person,
+                                     @Parameter(description = "key making retries of the creation safe") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return service.createPerson(person, idempotencyKey);
+    }
+
+    @PostMapping(value = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "importPersons", description = "create the persons of a NDJSON stream, returning one result per record")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "records processed, see the status of each result"),
+            @ApiResponse(responseCode = "400", description = "malformed NDJSON stream")})
+    @IsAdmin
+    public Flux<ImportResult<Person>> importPersons(@RequestBody Flux<Person> persons,
+                                                    @Parameter(description = "key making retries of the import safe") @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return service.importPersons(persons, idempotencyKey);
     }
 
     @PutMapping("{id}")
@@ -0,0 +1,17 @@
+package com.spring.training.discovery;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+public class CatalogLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "remote.services.catalog", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ServiceInstanceListSupplier catalogServiceInstanceListSupplier(Environment environment, ServiceCatalog catalog) {
+        return new CatalogServiceInstanceListSupplier(environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME), catalog);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.spring.training.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public class CatalogServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    final String serviceId;
+    final ServiceCatalog catalog;
+
+    public CatalogServiceInstanceListSupplier(String serviceId, ServiceCatalog catalog) {
+        this.serviceId = serviceId;
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return catalog.getInstances(serviceId);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.spring.training.discovery;
+
+import com.ecwid.consul.v1.ConsulClient;
+import com.ecwid.consul.v1.QueryParams;
+import com.ecwid.consul.v1.Response;
+import com.ecwid.consul.v1.health.HealthServicesRequest;
+import com.ecwid.consul.v1.health.model.HealthService;
+import com.spring.training.config.CatalogConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.consul.discovery.ConsulDiscoveryProperties;
+import org.springframework.cloud.consul.discovery.ConsulServiceInstance;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class ServiceCatalog {
+
+    final ConsulClient consul;
+    final ConsulDiscoveryProperties properties;
+    final CatalogConfig config;
+    final Map<String, Sinks.Many<List<ServiceInstance>>> services = new ConcurrentHashMap<>();
+    final Set<String> unknown = ConcurrentHashMap.newKeySet();
+    final Disposable.Composite watches = Disposables.composite();
+    final Scheduler scheduler;
+
+    public ServiceCatalog(ConsulClient consul, ConsulDiscoveryProperties properties, CatalogConfig config) {
+        this.consul = consul;
+        this.properties = properties;
+        this.config = config;
+        // each long-poll holds a thread for up to the wait time, so watches beyond the cap queue for a free one
+        this.scheduler = Schedulers.newBoundedElastic(config.getWatchThreads(), Integer.MAX_VALUE, "consul-catalog");
+    }
+
+    public void start() {
+        config.getServices().forEach(this::sink);
+    }
+
+    public void stop() {
+        watches.dispose();
+        scheduler.dispose();
+    }
+
+    public Flux<List<ServiceInstance>> getInstances(String serviceId) {
+        Sinks.Many<List<ServiceInstance>> sink = sink(serviceId);
+        if (unknown.contains(serviceId)) {
+            return Flux.just(Collections.emptyList());
+        }
+        return sink.asFlux()
+                .timeout(Mono.delay(config.getInitialTimeout()), instances -> Flux.never(),
+                        Flux.defer(() -> {
+                            unknown.add(serviceId);
+                            return Flux.just(Collections.<ServiceInstance>emptyList());
+                        }));
+    }
+
+    private Sinks.Many<List<ServiceInstance>> sink(String serviceId) {
+        return services.computeIfAbsent(serviceId, this::watch);
+    }
+
+    private Sinks.Many<List<ServiceInstance>> watch(String serviceId) {
+        Sinks.Many<List<ServiceInstance>> sink = Sinks.many().replay().latest();
+        AtomicLong index = new AtomicLong();
+        watches.add(Mono.defer(() -> query(serviceId, index))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, config.getMinBackoff())
+                        .maxBackoff(config.getMaxBackoff())
+                        .jitter(0.5)
+                        .doBeforeRetry(signal -> log.warn("Unable to watch {} in Consul, serving last known instances", serviceId, signal.failure())))
+                .repeatWhen(completions -> completions.concatMap(completion -> index.get() > 0 ? Mono.just(completion) : Mono.delay(config.getMinBackoff())))
+                .subscribe(instances -> {
+                    sink.tryEmitNext(instances);
+                    unknown.remove(serviceId);
+                }));
+        return sink;
+    }
+
+    private Mono<List<ServiceInstance>> query(String serviceId, AtomicLong index) {
+        long current = index.get();
+        return Mono.fromCallable(() -> consul.getHealthServices(serviceId, HealthServicesRequest.newBuilder()
+                        .setPassing(properties.isQueryPassing())
+                        .setToken(properties.getAclToken())
+                        .setQueryParams(new QueryParams(config.getWait().getSeconds(), current))
+                        .build()))
+                .subscribeOn(scheduler)
+                .flatMap(response -> {
+                    long next = response.getConsulIndex() != null ? response.getConsulIndex() : 0;
+                    index.set(next < current ? 0 : next);
+                    return next == current && current > 0 ? Mono.empty() : Mono.just(toInstances(serviceId, response));
+                });
+    }
+
+    private List<ServiceInstance> toInstances(String serviceId, Response<List<HealthService>> response) {
+        return response.getValue().stream()
+                .map(service -> new ConsulServiceInstance(service, serviceId))
+                .collect(Collectors.toList());
+    }
+
+}
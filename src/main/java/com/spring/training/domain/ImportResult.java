@@ -0,0 +1,28 @@
+package com.spring.training.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult<T> {
+    long index;
+    HttpStatus status;
+    T value;
+    String message;
+
+    public static <T> ImportResult<T> created(long index, T value) {
+        return new ImportResult<>(index, HttpStatus.CREATED, value, null);
+    }
+
+    public static <T> ImportResult<T> invalid(long index, String message) {
+        return new ImportResult<>(index, HttpStatus.BAD_REQUEST, null, message);
+    }
+
+    public static <T> ImportResult<T> failed(long index, HttpStatus status, String message) {
+        return new ImportResult<>(index, status, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.training.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LookupResult<K, T> {
+    K key;
+    HttpStatus status;
+    T value;
+    String message;
+
+    public static <K, T> LookupResult<K, T> found(K key, T value) {
+        return new LookupResult<>(key, HttpStatus.OK, value, null);
+    }
+
+    public static <K, T> LookupResult<K, T> notFound(K key, String message) {
+        return new LookupResult<>(key, HttpStatus.NOT_FOUND, null, message);
+    }
+}
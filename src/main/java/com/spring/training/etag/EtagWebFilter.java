@@ -0,0 +1,85 @@
+package com.spring.training.etag;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EtagWebFilter implements WebFilter, Ordered {
+
+    final List<PathPattern> patterns = new ArrayList<>();
+
+    public EtagWebFilter(List<String> patterns) {
+        for (String pattern : patterns) {
+            this.patterns.add(PathPatternParser.defaultInstance.parse(pattern));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 75;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET || !matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new EtagResponse(exchange)).build());
+    }
+
+    private boolean matches(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class EtagResponse extends ServerHttpResponseDecorator {
+
+        final ServerWebExchange exchange;
+
+        EtagResponse(ServerWebExchange exchange) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatus status = getStatusCode();
+            if ((status != null && status != HttpStatus.OK) || getHeaders().getETag() != null) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                // weak, since the same tag is sent for the identity and the gzip encoded representation
+                if (exchange.checkNotModified("W/\"0" + DigestUtils.md5DigestAsHex(bytes) + "\"")) {
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    return super.setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+    }
+
+}
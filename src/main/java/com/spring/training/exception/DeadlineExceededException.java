@@ -0,0 +1,13 @@
+package com.spring.training.exception;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+
+@EqualsAndHashCode(callSuper = true)
+public class DeadlineExceededException extends RequestException {
+
+    public DeadlineExceededException(String message) {
+        super(message, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+}
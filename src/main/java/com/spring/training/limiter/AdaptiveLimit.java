@@ -0,0 +1,85 @@
+package com.spring.training.limiter;
+
+import com.spring.training.config.LimiterConfig;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+public class AdaptiveLimit {
+
+    final LimiterConfig config;
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicLong limit;
+    final AtomicBoolean sampling = new AtomicBoolean();
+    double longRtt;
+
+    AdaptiveLimit(LimiterConfig config) {
+        this.config = config;
+        this.limit = new AtomicLong(Double.doubleToLongBits(config.getInitialLimit()));
+    }
+
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) getLimit()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    void onSample(long sample, int inFlightAtStart) {
+        // samples that arrive while another one is being applied are skipped rather than queued behind a lock
+        if (!sampling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            double rtt = Math.max(1, sample);
+            if (longRtt == 0) {
+                longRtt = rtt;
+                return;
+            }
+            longRtt += (rtt - longRtt) * 2 / (config.getLongWindow() + 1);
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+            if (inFlightAtStart < getLimit() / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, config.getTolerance() * longRtt / rtt));
+            update(current -> current * (1 - config.getSmoothing()) + (current * gradient + Math.sqrt(current)) * config.getSmoothing());
+        } finally {
+            sampling.set(false);
+        }
+    }
+
+    void onDrop() {
+        update(current -> current * config.getBackoffRatio());
+    }
+
+    private void update(DoubleUnaryOperator function) {
+        long current;
+        long next;
+        do {
+            current = limit.get();
+            double value = function.applyAsDouble(Double.longBitsToDouble(current));
+            next = Double.doubleToLongBits(Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), value)));
+        } while (!limit.compareAndSet(current, next));
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.spring.training.limiter;
+
+import com.spring.training.config.LimiterConfig;
+import com.spring.training.metrics.UpstreamTime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrencyLimitWebFilter implements WebFilter, Ordered {
+
+    final LimiterConfig config;
+    final List<Group> groups = new ArrayList<>();
+
+    public ConcurrencyLimitWebFilter(LimiterConfig config, MeterRegistry registry) {
+        this.config = config;
+        for (Map.Entry<String, String> entry : config.getGroups().entrySet()) {
+            groups.add(new Group(entry.getKey(), PathPatternParser.defaultInstance.parse(entry.getValue()),
+                    new AdaptiveLimit(config), registry));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 45;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Group group = match(exchange.getRequest().getPath().pathWithinApplication());
+        if (group == null) {
+            return chain.filter(exchange);
+        }
+        AdaptiveLimit limit = group.limit;
+        if (!limit.tryAcquire()) {
+            group.rejections.increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, config.getRetryAfter().getSeconds())));
+            return response.setComplete();
+        }
+        int inFlight = limit.getInFlight();
+        AtomicBoolean released = new AtomicBoolean();
+        UpstreamTime upstream = new UpstreamTime();
+        exchange.getResponse().beforeCommit(() -> {
+            // streamed responses live as long as the client listens, so they give their permit back once the headers are out
+            if (isStreaming(exchange.getResponse().getHeaders().getContentType()) && released.compareAndSet(false, true)) {
+                limit.release();
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(UpstreamTime.KEY, upstream))
+                .doFinally(signal -> {
+                    if (!released.compareAndSet(false, true)) {
+                        return;
+                    }
+                    limit.release();
+                    HttpStatus status = exchange.getResponse().getStatusCode();
+                    if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                        limit.onDrop();
+                    } else if (signal == SignalType.ON_COMPLETE && (status == null || status.is2xxSuccessful())
+                            && upstream.isRecorded()) {
+                        // only the upstream round trip is sampled, so cache hits do not make latency look flat
+                        limit.onSample(upstream.getLongest(), inFlight);
+                    }
+                });
+    }
+
+    private Group match(PathContainer path) {
+        for (Group group : groups) {
+            if (group.pattern.matches(path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isStreaming(MediaType contentType) {
+        return contentType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
+
+    static class Group {
+        final PathPattern pattern;
+        final AdaptiveLimit limit;
+        final Counter rejections;
+
+        Group(String name, PathPattern pattern, AdaptiveLimit limit, MeterRegistry registry) {
+            this.pattern = pattern;
+            this.limit = limit;
+            this.rejections = registry.counter("http.server.limiter.rejections", "group", name);
+            Gauge.builder("http.server.limiter.limit", limit, AdaptiveLimit::getLimit).tag("group", name).register(registry);
+            Gauge.builder("http.server.limiter.in.flight", limit, AdaptiveLimit::getInFlight).tag("group", name).register(registry);
+        }
+    }
+
+}
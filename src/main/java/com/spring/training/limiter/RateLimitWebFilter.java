@@ -0,0 +1,100 @@
+package com.spring.training.limiter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.training.config.RateLimitConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+public class RateLimitWebFilter implements WebFilter, Ordered {
+
+    static final String LIMIT = "X-RateLimit-Limit";
+    static final String REMAINING = "X-RateLimit-Remaining";
+
+    final RateLimitConfig config;
+    final Limiter reads;
+    final Limiter writes;
+
+    public RateLimitWebFilter(RateLimitConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.reads = new Limiter(config.getReads(), config, registry.counter("http.server.ratelimit.rejections", "access", "read"));
+        this.writes = new Limiter(config.getWrites(), config, registry.counter("http.server.ratelimit.rejections", "access", "write"));
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        Limiter limiter = method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS ? reads : writes;
+        return exchange.getPrincipal()
+                .map(principal -> limiter.acquire(key(principal), exchange.getResponse()))
+                .defaultIfEmpty(Boolean.TRUE)
+                .flatMap(allowed -> allowed ? chain.filter(exchange) : exchange.getResponse().setComplete());
+    }
+
+    private String key(Principal principal) {
+        if (config.getKeyBy() == RateLimitConfig.KeyBy.ROLE && principal instanceof Authentication) {
+            return ((Authentication) principal).getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+        return principal.getName();
+    }
+
+    static class Limiter {
+        final RateLimitConfig.Bucket bucket;
+        final Cache<String, TokenBucket> buckets;
+        final Counter rejections;
+        final String limit;
+
+        Limiter(RateLimitConfig.Bucket bucket, RateLimitConfig config, Counter rejections) {
+            // rejects an unusable bucket at startup instead of on the first request
+            TokenBucket.interval(bucket.getRate(), bucket.getBurst());
+            this.bucket = bucket;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(config.getMaxKeys())
+                    .expireAfterAccess(config.getIdleTimeout())
+                    .build();
+            this.rejections = rejections;
+            this.limit = String.valueOf(bucket.getBurst());
+        }
+
+        boolean acquire(String key, ServerHttpResponse response) {
+            TokenBucket tokens = buckets.get(key, k -> new TokenBucket(bucket.getRate(), bucket.getBurst()));
+            long now = System.nanoTime();
+            long remaining = tokens.tryConsume(now);
+            HttpHeaders headers = response.getHeaders();
+            headers.set(LIMIT, limit);
+            headers.set(REMAINING, String.valueOf(Math.max(0, remaining)));
+            if (remaining >= 0) {
+                return true;
+            }
+            rejections.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(tokens.waitTime(now) + TimeUnit.SECONDS.toNanos(1) - 1));
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.spring.training.limiter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+
+    final long interval;
+    final long capacity;
+    final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double rate, int burst) {
+        this.interval = interval(rate, burst);
+        this.capacity = interval * burst;
+    }
+
+    static long interval(double rate, int burst) {
+        if (!(rate > 0) || burst < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive, got rate " + rate + " and burst " + burst);
+        }
+        long interval = Math.max(1, (long) (1_000_000_000L / rate));
+        // keeps the capacity plus one more interval within a long
+        if (interval > Long.MAX_VALUE / (burst + 1L)) {
+            throw new IllegalArgumentException("rate " + rate + " is too low for a burst of " + burst);
+        }
+        return interval;
+    }
+
+    public long tryConsume(long now) {
+        long current;
+        long next;
+        do {
+            current = arrival.get();
+            next = Math.max(current, now) + interval;
+            if (next - now > capacity) {
+                return -1;
+            }
+        } while (!arrival.compareAndSet(current, next));
+        return (capacity - (next - now)) / interval;
+    }
+
+    public long waitTime(long now) {
+        return Math.max(0, arrival.get() + interval - capacity - now);
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.spring.training.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InstanceStats {
+
+    final long firstSeen = System.nanoTime();
+    final AtomicInteger inFlight = new AtomicInteger();
+    double ewma;
+    long lastUpdate;
+
+    InstanceStats(double ewma) {
+        this.ewma = ewma;
+        this.lastUpdate = firstSeen;
+    }
+
+    synchronized void record(long rtt, long decay) {
+        long now = System.nanoTime();
+        double weight = Math.exp(-(now - lastUpdate) / (double) decay);
+        ewma = ewma * weight + rtt * (1 - weight);
+        lastUpdate = now;
+    }
+
+    synchronized double getEwma() {
+        return ewma;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double score(long slowStart) {
+        double warmUp = Math.min(1, (System.nanoTime() - firstSeen) / (double) slowStart);
+        return (getEwma() + 1) * (getInFlight() + 1) / Math.max(warmUp, 0.05);
+    }
+
+}
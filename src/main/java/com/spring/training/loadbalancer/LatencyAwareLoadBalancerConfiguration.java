@@ -0,0 +1,22 @@
+package com.spring.training.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "remote.services.load-balancer", name = "strategy", havingValue = "latency-aware")
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory factory,
+                                                                         LatencyTracker tracker) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(factory.getLazyProvider(name, ServiceInstanceListSupplier.class), tracker);
+    }
+
+}
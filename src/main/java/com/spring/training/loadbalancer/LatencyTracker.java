@@ -0,0 +1,80 @@
+package com.spring.training.loadbalancer;
+
+import com.spring.training.config.BalancerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LatencyTracker implements ExchangeFilterFunction {
+
+    final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+    final BalancerConfig config;
+    final MeterRegistry registry;
+
+    public LatencyTracker(BalancerConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            InstanceStats stats = stats(key(request.url()));
+            long start = System.nanoTime();
+            stats.inFlight.incrementAndGet();
+            return next.exchange(request)
+                    .doFinally(signal -> complete(stats, signal, System.nanoTime() - start));
+        });
+    }
+
+    public double score(ServiceInstance instance) {
+        return stats(key(instance.getHost(), instance.getPort(), instance.isSecure())).score(config.getSlowStart().toNanos());
+    }
+
+    private void complete(InstanceStats stats, SignalType signal, long rtt) {
+        stats.inFlight.decrementAndGet();
+        if (signal == SignalType.ON_ERROR) {
+            stats.record(Math.max(rtt, config.getErrorPenalty().toNanos()), config.getDecay().toNanos());
+        } else if (signal != SignalType.CANCEL) {
+            stats.record(rtt, config.getDecay().toNanos());
+        }
+    }
+
+    private InstanceStats stats(String key) {
+        InstanceStats stats = instances.get(key);
+        return stats != null ? stats : instances.computeIfAbsent(key, this::register);
+    }
+
+    private InstanceStats register(String key) {
+        InstanceStats stats = new InstanceStats(instances.values().stream()
+                .mapToDouble(InstanceStats::getEwma)
+                .average()
+                .orElse(0));
+        Gauge.builder("loadbalancer.instance.score", stats, s -> s.score(config.getSlowStart().toNanos()))
+                .tag("instance", key)
+                .register(registry);
+        Gauge.builder("loadbalancer.instance.in.flight", stats, InstanceStats::getInFlight)
+                .tag("instance", key)
+                .register(registry);
+        return stats;
+    }
+
+    private static String key(URI uri) {
+        return key(uri.getHost(), uri.getPort(), "https".equals(uri.getScheme()));
+    }
+
+    private static String key(String host, int port, boolean secure) {
+        return host + ":" + (port >= 0 ? port : secure ? 443 : 80);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.spring.training.logging;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+class BodyCapture {
+
+    final int maxBytes;
+    final StringBuilder body = new StringBuilder();
+    int captured;
+
+    BodyCapture(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized void append(DataBuffer buffer) {
+        int length = Math.min(maxBytes - captured, buffer.readableByteCount());
+        if (length > 0) {
+            body.append(buffer.toString(buffer.readPosition(), length, StandardCharsets.UTF_8));
+            captured += length;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return body.toString();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.spring.training.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.HttpHeaders;
+
+@Data
+@AllArgsConstructor
+public class WireLogEntry {
+    String direction;
+    String method;
+    String uri;
+    Integer status;
+    long duration;
+    HttpHeaders headers;
+    HttpHeaders responseHeaders;
+    String body;
+}
@@ -0,0 +1,53 @@
+package com.spring.training.logging;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class WireLogExchangeFilter implements ExchangeFilterFunction {
+
+    final WireLogger logger;
+
+    public WireLogExchangeFilter(WireLogger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            if (!context.getOrDefault(WireLogger.SAMPLED, false)) {
+                return next.exchange(request);
+            }
+            long start = System.nanoTime();
+            BodyCapture requestBody = new BodyCapture(logger.getMaxBodyBytes());
+            BodyCapture responseBody = new BodyCapture(logger.getMaxBodyBytes());
+            ClientRequest captured = ClientRequest.from(request)
+                    .body((message, insertContext) -> request.body().insert(new ClientHttpRequestDecorator(message) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            return super.writeWith(Flux.from(body).doOnNext(requestBody::append));
+                        }
+                    }, insertContext))
+                    .build();
+            return next.exchange(captured)
+                    .map(response -> response.mutate()
+                            .body(body -> body.doOnNext(responseBody::append)
+                                    .doFinally(signal -> log(request, response, start, requestBody, responseBody)))
+                            .build())
+                    .doOnError(error -> log(request, null, start, requestBody, responseBody));
+        });
+    }
+
+    private void log(ClientRequest request, ClientResponse response, long start, BodyCapture requestBody, BodyCapture responseBody) {
+        logger.log("client", request.method().name(), request.url().toString(), response != null ? response.rawStatusCode() : null, start,
+                request.headers(), response != null ? response.headers().asHttpHeaders() : null,
+                "request=" + requestBody + " response=" + responseBody);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.spring.training.logging;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class WireLogWebFilter implements WebFilter, Ordered {
+
+    final WireLogger logger;
+
+    public WireLogWebFilter(WireLogger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!logger.isSampled(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        BodyCapture requestBody = new BodyCapture(logger.getMaxBodyBytes());
+        BodyCapture responseBody = new BodyCapture(logger.getMaxBodyBytes());
+        ServerHttpResponse response = exchange.getResponse();
+        ServerWebExchange decorated = exchange.mutate()
+                .request(new ServerHttpRequestDecorator(request) {
+                    @Override
+                    public Flux<DataBuffer> getBody() {
+                        return super.getBody().doOnNext(requestBody::append);
+                    }
+                })
+                .response(new ServerHttpResponseDecorator(response) {
+                    @Override
+                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                        return super.writeWith(Flux.from(body).doOnNext(responseBody::append));
+                    }
+
+                    @Override
+                    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                        return super.writeAndFlushWith(Flux.from(body).map(chunk -> Flux.from(chunk).doOnNext(responseBody::append)));
+                    }
+                })
+                .build();
+        return chain.filter(decorated)
+                .contextWrite(context -> context.put(WireLogger.SAMPLED, true))
+                .doFinally(signal -> logger.log("server", request.getMethodValue(), request.getURI().toString(),
+                        response.getRawStatusCode(), start, request.getHeaders(), response.getHeaders(),
+                        "request=" + requestBody + " response=" + responseBody));
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.spring.training.logging;
+
+import com.spring.training.config.WireLogConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j(topic = "wire")
+public class WireLogger {
+
+    public static final String SAMPLED = WireLogger.class.getName() + ".SAMPLED";
+
+    final WireLogConfig config;
+    final BlockingQueue<WireLogEntry> queue;
+    final Set<String> redacted;
+    final Pattern redactedFields;
+    final Counter dropped;
+    volatile boolean running;
+    Thread emitter;
+
+    public WireLogger(WireLogConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueSize());
+        this.redacted = Collections.newSetFromMap(new LinkedCaseInsensitiveMap<>());
+        this.redacted.addAll(config.getRedactedHeaders());
+        this.redactedFields = fieldPattern(config.getRedactedFields());
+        this.dropped = registry.counter("wire.log.dropped");
+    }
+
+    public void start() {
+        running = true;
+        emitter = new Thread(this::emit, "wire-log");
+        emitter.setDaemon(true);
+        emitter.start();
+    }
+
+    public void stop() {
+        running = false;
+        emitter.interrupt();
+    }
+
+    public boolean isSampled(HttpHeaders headers) {
+        switch (config.getMode()) {
+            case ALL:
+                return true;
+            case SAMPLED:
+                // the header comes from the caller before authentication, so it is only honoured when explicitly enabled
+                return config.isForceHeaderEnabled() && "true".equalsIgnoreCase(headers.getFirst(config.getForceHeader()))
+                        || ThreadLocalRandom.current().nextDouble() < config.getSampleRate();
+            default:
+                return false;
+        }
+    }
+
+    public int getMaxBodyBytes() {
+        return config.getMaxBodyBytes();
+    }
+
+    public void log(String direction, String method, String uri, Integer status, long startNanos, HttpHeaders headers,
+                    HttpHeaders responseHeaders, String body) {
+        WireLogEntry entry = new WireLogEntry(direction, method, uri, status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), redact(headers), redact(responseHeaders), redact(body));
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private HttpHeaders redact(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        HttpHeaders copy = new HttpHeaders(new LinkedMultiValueMap<>(headers.size()));
+        headers.forEach((name, values) -> copy.put(name, redacted.contains(name) ? Collections.singletonList("***") : values));
+        return copy;
+    }
+
+    String redact(String body) {
+        if (body == null || redactedFields == null) {
+            return body;
+        }
+        return redactedFields.matcher(body).replaceAll("$1\"***\"");
+    }
+
+    private static Pattern fieldPattern(List<String> fields) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        String names = fields.stream().map(Pattern::quote).collect(Collectors.joining("|"));
+        return Pattern.compile("(\"(?:" + names + ")\"\\s*:\\s*)(?:\"(?:[^\"\\\\]|\\\\.)*\"?|[^,}\\]\\s]+)", Pattern.CASE_INSENSITIVE);
+    }
+
+    private void emit() {
+        while (running) {
+            try {
+                WireLogEntry entry = queue.take();
+                log.info("{} {} {} {} {}ms headers={} response-headers={} body={}", entry.getDirection(), entry.getMethod(), entry.getUri(),
+                        entry.getStatus(), entry.getDuration(), entry.getHeaders(), entry.getResponseHeaders(), entry.getBody());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.spring.training.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTags;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    final MeterRegistry registry;
+
+    public UpstreamMetricsFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> {
+                        UpstreamTime.record(context, System.nanoTime() - start);
+                        record(request, response, null, "false", start);
+                    })
+                    .doOnError(error -> record(request, null, error, "false", start))
+                    .doOnCancel(() -> record(request, null, null, "true", start));
+        });
+    }
+
+    private void record(ClientRequest request, ClientResponse response, Throwable error, String cancelled, long start) {
+        Tags tags = Tags.of(WebClientExchangeTags.method(request), WebClientExchangeTags.uri(request),
+                WebClientExchangeTags.status(response, error), WebClientExchangeTags.outcome(response))
+                .and("instance", instance(request.url()))
+                .and("cancelled", cancelled);
+        Timer.builder("upstream.requests")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String instance(URI uri) {
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.spring.training.metrics;
+
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UpstreamTime {
+
+    public static final String KEY = UpstreamTime.class.getName();
+
+    final AtomicLong longest = new AtomicLong(-1);
+
+    public static void record(ContextView context, long nanos) {
+        UpstreamTime time = context.getOrDefault(KEY, null);
+        if (time != null) {
+            time.longest.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    public boolean isRecorded() {
+        return longest.get() >= 0;
+    }
+
+    public long getLongest() {
+        return longest.get();
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.spring.training.resilience;
+
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+
+public class Deadline {
+
+    public static final String KEY = Deadline.class.getName();
+
+    final long expiresAt;
+
+    Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Deadline from(ContextView context) {
+        return context.getOrDefault(KEY, null);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAt - System.nanoTime());
+    }
+
+}
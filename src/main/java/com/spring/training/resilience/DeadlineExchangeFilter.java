@@ -0,0 +1,27 @@
+package com.spring.training.resilience;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import static com.spring.training.util.Headers.REQUEST_TIMEOUT;
+
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.from(context);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            long remaining = Math.max(1, deadline.remaining().toMillis());
+            return next.exchange(ClientRequest.from(request)
+                    .header(REQUEST_TIMEOUT, String.valueOf(remaining))
+                    .build());
+        });
+    }
+
+}
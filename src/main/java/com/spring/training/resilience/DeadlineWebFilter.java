@@ -0,0 +1,55 @@
+package com.spring.training.resilience;
+
+import com.spring.training.config.TimeoutConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static com.spring.training.util.Headers.REQUEST_TIMEOUT;
+
+public class DeadlineWebFilter implements WebFilter, Ordered {
+
+    final TimeoutConfig config;
+    final Counter exceeded;
+
+    public DeadlineWebFilter(TimeoutConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.exceeded = registry.counter("http.server.deadline.exceeded");
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 40;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String value = exchange.getRequest().getHeaders().getFirst(REQUEST_TIMEOUT);
+        if (value == null) {
+            return chain.filter(exchange);
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return chain.filter(exchange);
+        }
+        if (millis <= 0) {
+            exceeded.increment();
+            exchange.getResponse().setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+            return exchange.getResponse().setComplete();
+        }
+        Duration timeout = Duration.ofMillis(millis);
+        Deadline deadline = Deadline.after(timeout.compareTo(config.getMaxDeadline()) < 0 ? timeout : config.getMaxDeadline());
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(Deadline.KEY, deadline));
+    }
+
+}
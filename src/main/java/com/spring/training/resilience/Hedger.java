@@ -0,0 +1,80 @@
+package com.spring.training.resilience;
+
+import com.spring.training.config.HedgeConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Hedger {
+
+    final HedgeConfig config;
+    final AtomicLongArray samples;
+    final AtomicLong count = new AtomicLong();
+    final Counter hedges;
+    final Counter wins;
+    volatile long delay;
+
+    public Hedger(String method, HedgeConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.samples = new AtomicLongArray(config.getWindow());
+        this.delay = config.getInitialDelay().toNanos();
+        this.hedges = registry.counter("upstream.hedge.requests", "method", method);
+        this.wins = registry.counter("upstream.hedge.wins", "method", method);
+    }
+
+    public <T> Mono<T> execute(Mono<T> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Sinks.Empty<Void> primaryDone = Sinks.empty();
+            Mono<T> primary = request
+                    .doOnSuccess(value -> {
+                        record(System.nanoTime() - start);
+                        if (value == null) {
+                            primaryDone.tryEmitEmpty();
+                        }
+                    })
+                    .doOnError(error -> {
+                        primaryError.set(error);
+                        primaryDone.tryEmitEmpty();
+                    });
+            // the load balancer is not told which instance the primary went to, so the hedge may land on the same one
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delay))
+                    .takeUntilOther(primaryDone.asMono())
+                    .flatMap(tick -> {
+                        hedges.increment();
+                        long hedgeStart = System.nanoTime();
+                        return request.doOnNext(value -> {
+                            wins.increment();
+                            record(System.nanoTime() - hedgeStart);
+                        });
+                    });
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorResume(NoSuchElementException.class, e -> primaryError.get() != null ? Mono.error(primaryError.get()) : Mono.empty());
+        });
+    }
+
+    // only completed requests are sampled; a cancelled primary would report less than its real latency
+    private void record(long latency) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), latency);
+        if ((index + 1) % samples.length() == 0) {
+            long[] sorted = new long[samples.length()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            long percentile = sorted[(int) Math.min(sorted.length - 1, Math.ceil(config.getPercentile() * sorted.length))];
+            delay = Math.max(percentile, config.getMinDelay().toNanos());
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.spring.training.resilience;
+
+import com.spring.training.config.BreakerConfig;
+import com.spring.training.config.ClientConfig;
+import com.spring.training.config.RetryConfig;
+import com.spring.training.exception.DeadlineExceededException;
+import com.spring.training.exception.EntityNotFoundException;
+import com.spring.training.exception.RequestException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+public class ResiliencePolicy {
+
+    final ClientConfig config;
+    final MeterRegistry registry;
+    final CircuitBreakerRegistry breakers;
+    final Map<String, Hedger> hedgers = new ConcurrentHashMap<>();
+    final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    final RetryBudget budget;
+
+    public ResiliencePolicy(ClientConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.registry = registry;
+        BreakerConfig breaker = config.getBreaker();
+        this.breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedNumberOfCallsInHalfOpenState())
+                .recordException(ResiliencePolicy::isFailure)
+                .build());
+        this.budget = new RetryBudget(config.getRetry().getBudgetRatio(), config.getRetry().getBudgetMaxTokens());
+        Gauge.builder("upstream.retry.budget", budget, RetryBudget::getBalance).register(registry);
+    }
+
+    public <T> Mono<T> read(String method, Mono<T> request) {
+        Mono<T> call = config.getHedge().isEnabled() ? hedger(method).execute(request) : request;
+        return retry(method, protect(method, bound(method, call)));
+    }
+
+    public <T> Mono<T> idempotent(String method, Mono<T> request) {
+        return retry(method, protect(method, bound(method, request)));
+    }
+
+    public <T> Mono<T> write(String method, Mono<T> request) {
+        return protect(method, bound(method, request));
+    }
+
+    public <T> Flux<T> stream(String method, Flux<T> request) {
+        Duration timeout = config.getTimeout().getTimeout(method);
+        Flux<T> bounded = Flux.deferContextual(context -> {
+            Deadline deadline = Deadline.from(context);
+            if (deadline != null && isExpired(deadline)) {
+                return Flux.error(deadlineExceeded(method));
+            }
+            // every element, the first included, waits at most the method timeout and never past the caller's deadline
+            return request.timeout(Mono.delay(within(timeout, deadline)), item -> Mono.delay(within(timeout, deadline)))
+                    .onErrorMap(TimeoutException.class, e -> deadline != null && isExpired(deadline)
+                            ? deadlineExceeded(method) : timedOut(method, timeout));
+        });
+        if (!config.getBreaker().isEnabled()) {
+            return bounded;
+        }
+        return bounded.transformDeferred(CircuitBreakerOperator.of(breaker(method)))
+                .onErrorMap(CallNotPermittedException.class, ResiliencePolicy::unavailable);
+    }
+
+    public <T> Mono<T> bound(String method, Mono<T> call) {
+        Duration timeout = config.getTimeout().getTimeout(method);
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.from(context);
+            Duration remaining = deadline != null ? deadline.remaining() : timeout;
+            if (remaining.compareTo(timeout) >= 0) {
+                return call.timeout(timeout)
+                        .onErrorMap(TimeoutException.class, e -> timedOut(method, timeout))
+                        .contextWrite(ctx -> ctx.put(Deadline.KEY, Deadline.after(timeout)));
+            }
+            if (remaining.isNegative() || remaining.isZero()) {
+                return Mono.error(deadlineExceeded(method));
+            }
+            return call.timeout(remaining)
+                    .onErrorMap(TimeoutException.class, e -> deadlineExceeded(method));
+        });
+    }
+
+    private static boolean isExpired(Deadline deadline) {
+        Duration remaining = deadline.remaining();
+        return remaining.isNegative() || remaining.isZero();
+    }
+
+    private static Duration within(Duration timeout, Deadline deadline) {
+        if (deadline == null) {
+            return timeout;
+        }
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    private Throwable timedOut(String method, Duration timeout) {
+        registry.counter("upstream.deadline.exceeded", "method", method, "cause", "timeout").increment();
+        return new RequestException(method + " timed out after " + timeout.toMillis() + "ms", HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    private Throwable deadlineExceeded(String method) {
+        registry.counter("upstream.deadline.exceeded", "method", method, "cause", "caller").increment();
+        return new DeadlineExceededException("deadline exceeded before " + method + " completed");
+    }
+
+    private <T> Mono<T> protect(String method, Mono<T> request) {
+        if (!config.getBreaker().isEnabled()) {
+            return request;
+        }
+        return request.transformDeferred(CircuitBreakerOperator.of(breaker(method)))
+                .onErrorMap(CallNotPermittedException.class, ResiliencePolicy::unavailable);
+    }
+
+    private <T> Mono<T> retry(String method, Mono<T> call) {
+        RetryConfig retry = config.getRetry();
+        if (!retry.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            budget.deposit();
+            return call.retryWhen(Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                    .maxBackoff(retry.getMaxBackoff())
+                    .jitter(retry.getJitter())
+                    .filter(error -> isRetryable(error) && withdraw(method))
+                    .doBeforeRetry(signal -> registry.counter("upstream.retries", "method", method).increment())
+                    .onRetryExhaustedThrow((spec, signal) -> {
+                        // the filter withdrew a token before the retry limit was checked
+                        budget.refund();
+                        return signal.failure();
+                    }));
+        });
+    }
+
+    private boolean withdraw(String method) {
+        if (budget.tryWithdraw()) {
+            return true;
+        }
+        registry.counter("upstream.retry.budget.exhausted", "method", method).increment();
+        return false;
+    }
+
+    private Hedger hedger(String method) {
+        return hedgers.computeIfAbsent(method, name -> new Hedger(name, config.getHedge(), registry));
+    }
+
+    private CircuitBreaker breaker(String method) {
+        return circuitBreakers.computeIfAbsent(method, this::createBreaker);
+    }
+
+    private CircuitBreaker createBreaker(String method) {
+        CircuitBreaker breaker = breakers.circuitBreaker(method);
+        Gauge.builder("upstream.circuitbreaker.state", breaker, b -> b.getState().getOrder())
+                .tag("method", method)
+                .register(registry);
+        breaker.getEventPublisher().onStateTransition(event -> registry.counter("upstream.circuitbreaker.transitions",
+                "method", method,
+                "from", event.getStateTransition().getFromState().name(),
+                "to", event.getStateTransition().getToState().name()).increment());
+        return breaker;
+    }
+
+    private static boolean isFailure(Throwable error) {
+        if (error instanceof EntityNotFoundException || error instanceof DeadlineExceededException) {
+            return false;
+        }
+        return !(error instanceof WebClientResponseException) || ((WebClientResponseException) error).getStatusCode().is5xxServerError();
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) error).getRawStatusCode();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+
+    private static Throwable unavailable(CallNotPermittedException e) {
+        return new RequestException(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.spring.training.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RetryBudget {
+
+    static final long TOKEN = 1000;
+
+    final long deposit;
+    final long maxBalance;
+    final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.deposit = (long) (ratio * TOKEN);
+        this.maxBalance = maxTokens * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + deposit)));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    public void refund() {
+        long current;
+        do {
+            current = balance.get();
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + TOKEN)));
+    }
+
+    public double getBalance() {
+        return balance.get() / (double) TOKEN;
+    }
+
+}
@@ -1,37 +1,89 @@
 package com.spring.training.service;
 
+import com.spring.training.cache.ReactiveCache;
 import com.spring.training.client.CountryClient;
+import com.spring.training.config.BatchConfig;
+import com.spring.training.config.ClientConfig;
+import com.spring.training.config.ImportConfig;
 import com.spring.training.domain.Country;
+import com.spring.training.domain.ImportResult;
+import com.spring.training.domain.LookupResult;
+import com.spring.training.exception.EntityNotFoundException;
+import com.spring.training.exception.RequestException;
+import com.spring.training.util.Errors;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @AllArgsConstructor
 public class CountryService {
 
     final CountryClient client;
+    final ReactiveCache<String, Country> cache;
+    final ClientConfig config;
+    final Validator validator;
+
+    public Flux<Country> getCountries(long cursor, long limit) {
+        return client.getCountries(cursor, limit);
+    }
 
-    public Flux<Country> getCountries() {
-        return client.getCountries();
+    public Flux<LookupResult<String, Country>> getCountries(List<String> names) {
+        BatchConfig batch = config.getBatch();
+        if (names.size() > batch.getMaxSize()) {
+            return Flux.error(new RequestException("cannot look up more than " + batch.getMaxSize() + " countries at once", HttpStatus.BAD_REQUEST));
+        }
+        return Flux.fromIterable(new LinkedHashSet<>(names))
+                .flatMapSequential(name -> getCountry(name)
+                        .map(country -> LookupResult.found(name, country))
+                        .onErrorResume(EntityNotFoundException.class, e -> Mono.just(LookupResult.notFound(name, e.getMessage())))
+                        .defaultIfEmpty(LookupResult.notFound(name, "country not found with name : " + name)), batch.getConcurrency());
     }
 
     public Mono<Country> getCountry(String name) {
-        return client.getCountry(name);
+        return cache.get(name, client::getCountry);
     }
 
-    public Mono<Country> createCountry(Country country) {
-        return client.createCountry(country);
+    public Mono<Country> createCountry(Country country, String idempotencyKey) {
+        return client.createCountry(country, idempotencyKey);
     }
 
-    public Mono<Country> updateCountry(String name, Country country) {
-        return client.updateCountry(name, country);
+    public Flux<ImportResult<Country>> importCountries(Flux<Country> countries, String idempotencyKey) {
+        ImportConfig bulkImport = config.getBulkImport();
+        return countries.index()
+                .limitRate(bulkImport.getPrefetch())
+                .flatMapSequential(record -> importCountry(record.getT1(), record.getT2(), idempotencyKey), bulkImport.getConcurrency());
     }
 
-    public Mono<Void> deleteCountry(String name) {
-        return client.deleteCountry(name);
+    private Mono<ImportResult<Country>> importCountry(long index, Country country, String idempotencyKey) {
+        Set<ConstraintViolation<Country>> violations = validator.validate(country);
+        if (!violations.isEmpty()) {
+            return Mono.just(ImportResult.invalid(index, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", "))));
+        }
+        // without a caller key the upstream cannot dedupe, so the record is written once and not retried
+        return client.createCountry(country, idempotencyKey != null ? idempotencyKey + ":" + index : null)
+                .map(created -> ImportResult.created(index, created))
+                .onErrorResume(e -> Mono.just(ImportResult.failed(index, Errors.status(e), e.getMessage())));
     }
 
+    public Mono<Country> updateCountry(String name, Country country) {
+        return client.updateCountry(name, country)
+                .doFinally(signal -> cache.invalidate(name));
+    }
 
+    public Mono<Void> deleteCountry(String name) {
+        return client.deleteCountry(name)
+                .doFinally(signal -> cache.invalidate(name));
+    }
 }
@@ -1,35 +1,89 @@
 package com.spring.training.service;
 
+import com.spring.training.cache.ReactiveCache;
 import com.spring.training.client.PersonClient;
+import com.spring.training.config.BatchConfig;
+import com.spring.training.config.ClientConfig;
+import com.spring.training.config.ImportConfig;
 import com.spring.training.domain.Person;
+import com.spring.training.domain.ImportResult;
+import com.spring.training.domain.LookupResult;
+import com.spring.training.exception.EntityNotFoundException;
+import com.spring.training.exception.RequestException;
+import com.spring.training.util.Errors;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @AllArgsConstructor
 public class PersonService {
 
     final PersonClient client;
+    final ReactiveCache<Long, Person> cache;
+    final ClientConfig config;
+    final Validator validator;
+
+    public Flux<Person> getPersons(long cursor, long limit) {
+        return client.getPersons(cursor, limit);
+    }
 
-    public Flux<Person> getPersons() {
-        return client.getPersons();
+    public Flux<LookupResult<Long, Person>> getPersons(List<Long> ids) {
+        BatchConfig batch = config.getBatch();
+        if (ids.size() > batch.getMaxSize()) {
+            return Flux.error(new RequestException("cannot look up more than " + batch.getMaxSize() + " persons at once", HttpStatus.BAD_REQUEST));
+        }
+        return Flux.fromIterable(new LinkedHashSet<>(ids))
+                .flatMapSequential(id -> getPerson(id)
+                        .map(person -> LookupResult.found(id, person))
+                        .onErrorResume(EntityNotFoundException.class, e -> Mono.just(LookupResult.notFound(id, e.getMessage())))
+                        .defaultIfEmpty(LookupResult.notFound(id, "person not found with id : " + id)), batch.getConcurrency());
     }
 
     public Mono<Person> getPerson(Long id) {
-        return client.getPerson(id);
+        return cache.get(id, client::getPerson);
+    }
+
+    public Mono<Person> createPerson(Person person, String idempotencyKey) {
+        return client.createPerson(person, idempotencyKey);
+    }
+
+    public Flux<ImportResult<Person>> importPersons(Flux<Person> persons, String idempotencyKey) {
+        ImportConfig bulkImport = config.getBulkImport();
+        return persons.index()
+                .limitRate(bulkImport.getPrefetch())
+                .flatMapSequential(record -> importPerson(record.getT1(), record.getT2(), idempotencyKey), bulkImport.getConcurrency());
     }
 
-    public Mono<Person> createPerson(Person person) {
-        return client.createPerson(person);
+    private Mono<ImportResult<Person>> importPerson(long index, Person person, String idempotencyKey) {
+        Set<ConstraintViolation<Person>> violations = validator.validate(person);
+        if (!violations.isEmpty()) {
+            return Mono.just(ImportResult.invalid(index, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", "))));
+        }
+        // without a caller key the upstream cannot dedupe, so the record is written once and not retried
+        return client.createPerson(person, idempotencyKey != null ? idempotencyKey + ":" + index : null)
+                .map(created -> ImportResult.created(index, created))
+                .onErrorResume(e -> Mono.just(ImportResult.failed(index, Errors.status(e), e.getMessage())));
     }
 
     public Mono<Person> updatePerson(Long id, Person person) {
-        return client.updatePerson(id, person);
+        return client.updatePerson(id, person)
+                .doFinally(signal -> cache.invalidate(id));
     }
 
     public Mono<Void> deletePerson(Long id) {
-        return client.deletePerson(id);
+        return client.deletePerson(id)
+                .doFinally(signal -> cache.invalidate(id));
     }
 }
@@ -0,0 +1,88 @@
+package com.spring.training.tls;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import reactor.netty.NettyPipeline;
+
+import java.util.concurrent.TimeUnit;
+
+public class HandshakeMetrics {
+
+    static final String HANDLER = "tls.handshake.metrics";
+
+    final Timer clientFull;
+    final Timer clientResumed;
+    final Timer serverFull;
+    final Timer serverResumed;
+    final Counter clientFailures;
+    final Counter serverFailures;
+
+    public HandshakeMetrics(MeterRegistry registry) {
+        this.clientFull = registry.timer("tls.handshakes", "side", "client", "session", "full");
+        this.clientResumed = registry.timer("tls.handshakes", "side", "client", "session", "resumed");
+        this.serverFull = registry.timer("tls.handshakes", "side", "server", "session", "full");
+        this.serverResumed = registry.timer("tls.handshakes", "side", "server", "session", "resumed");
+        this.clientFailures = registry.counter("tls.handshake.failures", "side", "client");
+        this.serverFailures = registry.counter("tls.handshake.failures", "side", "server");
+    }
+
+    public void observeClient(Channel channel) {
+        observe(channel, clientFull, clientResumed, clientFailures);
+    }
+
+    public void observeServer(Channel channel) {
+        observe(channel, serverFull, serverResumed, serverFailures);
+    }
+
+    private void observe(Channel channel, Timer full, Timer resumed, Counter failures) {
+        if (channel.pipeline().get(NettyPipeline.SslHandler) != null && channel.pipeline().get(HANDLER) == null) {
+            channel.pipeline().addAfter(NettyPipeline.SslHandler, HANDLER, new Listener(full, resumed, failures));
+        }
+    }
+
+    static class Listener extends ChannelInboundHandlerAdapter {
+        final Timer full;
+        final Timer resumed;
+        final Counter failures;
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+
+        Listener(Timer full, Timer resumed, Counter failures) {
+            this.full = full;
+            this.resumed = resumed;
+            this.failures = failures;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            startNanos = System.nanoTime();
+            startMillis = System.currentTimeMillis();
+            super.channelActive(ctx);
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object event) throws Exception {
+            if (event instanceof SslHandshakeCompletionEvent) {
+                if (((SslHandshakeCompletionEvent) event).isSuccess()) {
+                    SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+                    long createdAt = sslHandler.engine().getSession().getCreationTime();
+                    Timer timer = createdAt < startMillis ? resumed : full;
+                    timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    failures.increment();
+                }
+                ctx.fireUserEventTriggered(event);
+                ctx.pipeline().remove(this);
+                return;
+            }
+            super.userEventTriggered(ctx, event);
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.spring.training.tls;
+
+import com.spring.training.config.TlsConfig;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.server.Ssl;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.StringUtils;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.tcp.SslProvider.ProtocolSslContextSpec;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Slf4j
+public final class TlsContexts {
+
+    private TlsContexts() {
+    }
+
+    public static SslProvider provider(TlsConfig config) {
+        if (config.getProvider() == TlsConfig.Provider.OPENSSL) {
+            if (OpenSsl.isAvailable()) {
+                return SslProvider.OPENSSL;
+            }
+            if (!config.isFallback()) {
+                throw new IllegalStateException("OpenSSL TLS provider requested but netty-tcnative is not available", OpenSsl.unavailabilityCause());
+            }
+            log.warn("OpenSSL TLS provider requested but netty-tcnative is not available, falling back to JDK", OpenSsl.unavailabilityCause());
+        }
+        return SslProvider.JDK;
+    }
+
+    @SneakyThrows
+    public static ProtocolSslContextSpec forClient(Map<String, String> ssl, TlsConfig config, boolean http2) {
+        KeyStore keyStore = load(ssl.get("key-store"), ssl.get("key-store-type"), ssl.get("key-store-password"));
+        char[] password = ssl.get("key-store-password").toCharArray();
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, password);
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore);
+        Consumer<SslContextBuilder> configurer = builder -> session(builder
+                .keyManager(keyManagerFactory)
+                .trustManager(trustManagerFactory), config);
+        return http2 ? Http2SslContextSpec.forClient().configure(configurer) : Http11SslContextSpec.forClient().configure(configurer);
+    }
+
+    @SneakyThrows
+    public static ProtocolSslContextSpec forServer(Ssl ssl, TlsConfig config, boolean http2) {
+        KeyStore keyStore = load(ssl.getKeyStore(), ssl.getKeyStoreType(), ssl.getKeyStorePassword());
+        String alias = StringUtils.hasText(ssl.getKeyAlias()) ? ssl.getKeyAlias() : firstKeyAlias(keyStore);
+        String keyPassword = ssl.getKeyPassword() != null ? ssl.getKeyPassword() : ssl.getKeyStorePassword();
+        PrivateKey key = (PrivateKey) keyStore.getKey(alias, keyPassword != null ? keyPassword.toCharArray() : null);
+        if (key == null) {
+            throw new IllegalStateException("No private key found for alias " + alias + " in " + ssl.getKeyStore());
+        }
+        Certificate[] chain = keyStore.getCertificateChain(alias);
+        X509Certificate[] certificates = Arrays.copyOf(chain, chain.length, X509Certificate[].class);
+        TrustManagerFactory trustManagerFactory = null;
+        if (StringUtils.hasText(ssl.getTrustStore())) {
+            trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(load(ssl.getTrustStore(), ssl.getTrustStoreType(), ssl.getTrustStorePassword()));
+        }
+        TrustManagerFactory trustManagers = trustManagerFactory;
+        Consumer<SslContextBuilder> configurer = builder -> {
+            session(builder, config);
+            if (trustManagers != null) {
+                builder.trustManager(trustManagers);
+            }
+            if (ssl.getClientAuth() == Ssl.ClientAuth.NEED) {
+                builder.clientAuth(ClientAuth.REQUIRE);
+            } else if (ssl.getClientAuth() == Ssl.ClientAuth.WANT) {
+                builder.clientAuth(ClientAuth.OPTIONAL);
+            }
+            if (ssl.getEnabledProtocols() != null) {
+                builder.protocols(ssl.getEnabledProtocols());
+            }
+            if (ssl.getCiphers() != null) {
+                builder.ciphers(Arrays.asList(ssl.getCiphers()));
+            }
+        };
+        return http2 ? Http2SslContextSpec.forServer(key, certificates).configure(configurer)
+                : Http11SslContextSpec.forServer(key, certificates).configure(configurer);
+    }
+
+    private static void session(SslContextBuilder builder, TlsConfig config) {
+        builder.sslProvider(provider(config))
+                .sessionCacheSize(config.getSessionCacheSize())
+                .sessionTimeout(config.getSessionTimeout().getSeconds());
+    }
+
+    @SneakyThrows
+    private static KeyStore load(String location, String type, String password) {
+        KeyStore keyStore = KeyStore.getInstance(type != null ? type : KeyStore.getDefaultType());
+        keyStore.load(new DefaultResourceLoader().getResource(location).getInputStream(),
+                password != null ? password.toCharArray() : null);
+        return keyStore;
+    }
+
+    @SneakyThrows
+    private static String firstKeyAlias(KeyStore keyStore) {
+        return Collections.list(keyStore.aliases()).stream()
+                .filter(alias -> isKeyEntry(keyStore, alias))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No private key entry found in key store"));
+    }
+
+    @SneakyThrows
+    private static boolean isKeyEntry(KeyStore keyStore, String alias) {
+        return keyStore.isKeyEntry(alias);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.spring.training.util;
+
+import com.spring.training.exception.EntityNotFoundException;
+import com.spring.training.exception.RequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+public interface Errors {
+
+    static HttpStatus status(Throwable error) {
+        if (error instanceof RequestException) {
+            return ((RequestException) error).getStatus();
+        }
+        if (error instanceof EntityNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode();
+        }
+        return HttpStatus.BAD_GATEWAY;
+    }
+}
@@ -0,0 +1,6 @@
+package com.spring.training.util;
+
+public interface Headers {
+    String IDEMPOTENCY_KEY = "Idempotency-Key";
+    String REQUEST_TIMEOUT = "X-Request-Timeout";
+}
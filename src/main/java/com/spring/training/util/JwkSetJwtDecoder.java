@@ -0,0 +1,204 @@
+package com.spring.training.util;
+
+import com.nimbusds.jose.Algorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import com.spring.training.client.RequestCoalescer;
+import com.spring.training.config.JwtConfig;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class JwkSetJwtDecoder implements ReactiveJwtDecoder {
+
+    static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    final String jwkSetUri;
+    final JwtConfig config;
+    final WebClient client = WebClient.create();
+    final RequestCoalescer<String, Duration> refreshes = new RequestCoalescer<>();
+    final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    final OAuth2TokenValidator<Jwt> validator = JwtValidators.createDefault();
+    volatile List<SigningKey> keys = Collections.emptyList();
+    volatile long lastRefresh;
+    Disposable rotation;
+
+    public JwkSetJwtDecoder(String jwkSetUri, JwtConfig config) {
+        this.jwkSetUri = jwkSetUri;
+        this.config = config;
+        this.lastRefresh = System.nanoTime() - config.getJwkMinRefreshInterval().toNanos();
+    }
+
+    public void start() {
+        // tokens arriving right after startup must find the keys instead of hitting the on-demand rate limit
+        Duration first = rotate().block();
+        rotation = Mono.delay(first)
+                .then(Mono.defer(this::rotate))
+                .flatMap(Mono::delay)
+                .repeat()
+                .subscribe();
+    }
+
+    public void stop() {
+        rotation.dispose();
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        return Mono.defer(() -> {
+            SignedJWT jwt = parse(token);
+            JWSHeader header = jwt.getHeader();
+            return candidates(header)
+                    .switchIfEmpty(Mono.defer(() -> refreshOnDemand().then(candidates(header))))
+                    .switchIfEmpty(Mono.error(() -> new BadJwtException("no signing key found for kid : " + header.getKeyID())))
+                    .map(candidates -> toJwt(token, jwt, candidates));
+        });
+    }
+
+    private Mono<List<SigningKey>> candidates(JWSHeader header) {
+        return Mono.fromSupplier(() -> {
+            List<SigningKey> matching = keys.stream()
+                    .filter(key -> key.accepts(header))
+                    .collect(Collectors.toList());
+            return matching.isEmpty() ? null : matching;
+        });
+    }
+
+    private Mono<Duration> rotate() {
+        return refresh()
+                .onErrorResume(error -> {
+                    log.warn("Unable to refresh the JWK set from {}, keeping the last known keys", jwkSetUri, error);
+                    return Mono.just(config.getJwkRetryInterval());
+                });
+    }
+
+    private Mono<Void> refreshOnDemand() {
+        if (System.nanoTime() - lastRefresh < config.getJwkMinRefreshInterval().toNanos()) {
+            return Mono.empty();
+        }
+        return refresh().onErrorResume(error -> Mono.empty()).then();
+    }
+
+    private Mono<Duration> refresh() {
+        return refreshes.execute(jwkSetUri, () -> client.get().uri(jwkSetUri)
+                .retrieve()
+                .toEntity(String.class)
+                .timeout(config.getJwkFetchTimeout())
+                .doOnSubscribe(subscription -> lastRefresh = System.nanoTime())
+                .map(this::load));
+    }
+
+    @SneakyThrows
+    private Duration load(ResponseEntity<String> response) {
+        List<SigningKey> loaded = new ArrayList<>();
+        for (JWK key : JWKSet.parse(response.getBody()).getKeys()) {
+            if (key.getKeyUse() != null && !KeyUse.SIGNATURE.equals(key.getKeyUse())) {
+                continue;
+            }
+            if (key instanceof RSAKey) {
+                loaded.add(new SigningKey(key, new RSASSAVerifier((RSAKey) key)));
+            } else if (key instanceof ECKey) {
+                loaded.add(new SigningKey(key, new ECDSAVerifier((ECKey) key)));
+            }
+        }
+        keys = Collections.unmodifiableList(loaded);
+        return nextRefresh(response.getHeaders().getCacheControl());
+    }
+
+    private Duration nextRefresh(String cacheControl) {
+        Matcher matcher = cacheControl != null ? MAX_AGE.matcher(cacheControl) : null;
+        if (matcher == null || !matcher.find()) {
+            return config.getJwkRefreshInterval();
+        }
+        long ahead = (long) (Long.parseLong(matcher.group(1)) * 1000 * config.getJwkRefreshAheadRatio());
+        return Duration.ofMillis(Math.max(ahead, config.getJwkMinRefreshInterval().toMillis()));
+    }
+
+    private Jwt toJwt(String token, SignedJWT jwt, List<SigningKey> candidates) {
+        try {
+            if (!verify(jwt, candidates)) {
+                throw new BadJwtException("invalid signature");
+            }
+            Map<String, Object> claims = claimSetConverter.convert(jwt.getJWTClaimsSet().getClaims());
+            Jwt result = Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(jwt.getHeader().toJSONObject()))
+                    .claims(values -> values.putAll(claims))
+                    .build();
+            OAuth2TokenValidatorResult validation = validator.validate(result);
+            if (validation.hasErrors()) {
+                throw new JwtValidationException(validation.getErrors().iterator().next().getDescription(), validation.getErrors());
+            }
+            return result;
+        } catch (JOSEException | ParseException e) {
+            throw new BadJwtException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean verify(SignedJWT jwt, List<SigningKey> candidates) throws JOSEException {
+        for (SigningKey candidate : candidates) {
+            if (jwt.verify(candidate.verifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static SignedJWT parse(String token) {
+        try {
+            return SignedJWT.parse(token);
+        } catch (ParseException e) {
+            throw new BadJwtException(e.getMessage(), e);
+        }
+    }
+
+    static class SigningKey {
+        final String kid;
+        final Algorithm algorithm;
+        final JWSVerifier verifier;
+
+        SigningKey(JWK key, JWSVerifier verifier) {
+            this.kid = key.getKeyID();
+            this.algorithm = key.getAlgorithm();
+            this.verifier = verifier;
+        }
+
+        boolean accepts(JWSHeader header) {
+            return (header.getKeyID() == null || header.getKeyID().equals(kid))
+                    && (algorithm == null || algorithm.equals(header.getAlgorithm()))
+                    && verifier.supportedJWSAlgorithms().contains(header.getAlgorithm());
+        }
+    }
+
+}
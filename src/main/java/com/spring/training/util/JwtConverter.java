@@ -1,5 +1,12 @@
 package com.spring.training.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spring.training.config.JwtConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.SneakyThrows;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,26 +19,110 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthentication;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.spring.training.util.Claims.ROLES;
 
 public class JwtConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
 
+    final JwtConfig config;
+    final Cache<String, BearerTokenAuthentication> authentications;
+    final Map<List<String>, List<GrantedAuthority>> authorities = new ConcurrentHashMap<>();
+    final Timer hits;
+    final Timer misses;
+    final Timer uncached;
+
+    public JwtConverter(JwtConfig config, MeterRegistry registry) {
+        this.config = config;
+        this.authentications = Caffeine.newBuilder()
+                .maximumSize(config.getCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+        this.hits = registry.timer("jwt.conversion", "cache", "hit");
+        this.misses = registry.timer("jwt.conversion", "cache", "miss");
+        this.uncached = registry.timer("jwt.conversion", "cache", "none");
+    }
+
     @Override
     public Mono<AbstractAuthenticationToken> convert(Jwt jwt) {
+        long start = System.nanoTime();
+        if (!config.isCacheEnabled() || jwt.getExpiresAt() == null) {
+            BearerTokenAuthentication authentication = authenticate(jwt);
+            uncached.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Mono.just(authentication);
+        }
+        String key = hash(jwt.getTokenValue());
+        BearerTokenAuthentication authentication = authentications.getIfPresent(key);
+        Timer timer = hits;
+        if (authentication == null) {
+            authentication = authentications.get(key, k -> authenticate(jwt));
+            timer = misses;
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Mono.just(authentication);
+    }
+
+    private BearerTokenAuthentication authenticate(Jwt jwt) {
         List<String> roles = Optional.ofNullable(jwt.getClaimAsStringList(ROLES)).orElse(new ArrayList<>());
-        List<GrantedAuthority> authorities = roles.stream().
-                map(authority -> new SimpleGrantedAuthority("ROLE_" + authority))
-                .collect(Collectors.toList());
+        List<GrantedAuthority> authorities = authorities(roles);
         OidcIdToken oidcIdToken = new OidcIdToken(jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt(), jwt.getClaims());
         OidcUser user = new DefaultOidcUser(authorities, oidcIdToken);
         OAuth2AccessToken oAuth2AccessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
                 jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt());
-        return Mono.just(new BearerTokenAuthentication(user, oAuth2AccessToken, authorities));
+        return new BearerTokenAuthentication(user, oAuth2AccessToken, authorities);
+    }
+
+    private List<GrantedAuthority> authorities(List<String> roles) {
+        List<GrantedAuthority> interned = authorities.get(roles);
+        if (interned != null) {
+            return interned;
+        }
+        List<GrantedAuthority> created = Collections.unmodifiableList(roles.stream().
+                map(authority -> new SimpleGrantedAuthority("ROLE_" + authority))
+                .collect(Collectors.toList()));
+        if (authorities.size() < config.getMaxInternedRoleSets()) {
+            List<GrantedAuthority> previous = authorities.putIfAbsent(new ArrayList<>(roles), created);
+            return previous != null ? previous : created;
+        }
+        return created;
+    }
+
+    @SneakyThrows
+    private static String hash(String token) {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    static class TokenExpiry implements Expiry<String, BearerTokenAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, BearerTokenAuthentication authentication, long currentTime) {
+            Instant expiresAt = authentication.getToken().getExpiresAt();
+            return expiresAt == null ? 0 : Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, BearerTokenAuthentication authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, BearerTokenAuthentication authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
     }
 
-}
\ No newline at end of file
+}
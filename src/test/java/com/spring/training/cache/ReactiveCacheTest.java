@@ -0,0 +1,72 @@
+package com.spring.training.cache;
+
+import com.spring.training.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveCacheTest {
+
+    final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesCachedValueWithinTtl() {
+        ReactiveCache<String, Integer> cache = cache(Duration.ofMinutes(1));
+
+        assertThat(cache.get("key", this::load).block()).isEqualTo(1);
+        assertThat(cache.get("key", this::load).block()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void servesStaleValueWhileRevalidating() throws InterruptedException {
+        ReactiveCache<String, Integer> cache = cache(Duration.ofMillis(20));
+        cache.get("key", this::load).block();
+        Thread.sleep(50);
+
+        assertThat(cache.get("key", this::load).block()).isEqualTo(1);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("key", this::load).block()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsLoadThatStartedBeforeInvalidation() {
+        ReactiveCache<String, Integer> cache = cache(Duration.ofMinutes(1));
+        Sinks.One<Integer> pending = Sinks.one();
+        cache.get("key", key -> pending.asMono()).subscribe();
+
+        cache.invalidate("key");
+        pending.tryEmitValue(0);
+
+        assertThat(cache.get("key", this::load).block()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsLoadThatStartedAfterInvalidation() {
+        ReactiveCache<String, Integer> cache = cache(Duration.ofMinutes(1));
+        cache.invalidate("key");
+
+        cache.get("key", this::load).block();
+
+        assertThat(cache.get("key", this::load).block()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    private Mono<Integer> load(String key) {
+        return Mono.fromCallable(loads::incrementAndGet);
+    }
+
+    private static ReactiveCache<String, Integer> cache(Duration ttl) {
+        CacheConfig config = new CacheConfig();
+        config.setTtl(ttl);
+        config.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        return new ReactiveCache<>("test", config, new SimpleMeterRegistry());
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.spring.training.client;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PagingTest {
+
+    final List<long[]> requests = new ArrayList<>();
+
+    @Test
+    void stopsOnShortPage() {
+        List<Long> items = Paging.pages(0, Long.MAX_VALUE, 10, this::upstream, this::unpaged).collectList().block();
+
+        assertThat(items).hasSize(25);
+        assertThat(requests).extracting(request -> request[0]).containsExactly(0L, 10L, 20L);
+    }
+
+    @Test
+    void fallsBackToUnpagedListWhenUpstreamIgnoresOffset() {
+        List<Long> items = Paging.pages(3, Long.MAX_VALUE, 10, (offset, count) -> {
+            requests.add(new long[]{offset, count});
+            return Mono.just(range(0, 10));
+        }, this::unpaged).collectList().block();
+
+        assertThat(items).isEqualTo(range(3, 25));
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void skipsToCursorWhenUpstreamIgnoresLimit() {
+        List<Long> items = Paging.pages(3, 5, 10, (offset, count) -> {
+            requests.add(new long[]{offset, count});
+            return Mono.just(range(0, 25));
+        }, this::unpaged).collectList().block();
+
+        assertThat(items).isEqualTo(range(3, 8));
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void stopsOnEmptyPage() {
+        List<Long> items = Paging.pages(0, Long.MAX_VALUE, 5, this::upstream, this::unpaged).collectList().block();
+
+        assertThat(items).hasSize(25);
+        assertThat(requests).extracting(request -> request[0]).containsExactly(0L, 5L, 10L, 15L, 20L, 25L);
+    }
+
+    @Test
+    void requestsOnlyWhatTheLimitNeeds() {
+        List<Long> items = Paging.pages(3, 12, 10, this::upstream, this::unpaged).collectList().block();
+
+        assertThat(items).isEqualTo(range(3, 15));
+        assertThat(requests).extracting(request -> request[1]).containsExactly(10L, 2L);
+    }
+
+    @Test
+    void fetchesNothingForZeroLimit() {
+        assertThat(Paging.pages(0, 0, 10, this::upstream, this::unpaged).collectList().block()).isEmpty();
+        assertThat(requests).isEmpty();
+    }
+
+    private Mono<List<Long>> upstream(long offset, long count) {
+        requests.add(new long[]{offset, count});
+        return Mono.just(range(offset, Math.min(25, offset + count)));
+    }
+
+    private Flux<Long> unpaged() {
+        return Flux.fromIterable(range(0, 25));
+    }
+
+    private static List<Long> range(long from, long to) {
+        return LongStream.range(from, Math.max(from, to)).boxed().collect(Collectors.toList());
+    }
+
+}
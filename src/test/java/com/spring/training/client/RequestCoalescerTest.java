@@ -0,0 +1,107 @@
+package com.spring.training.client;
+
+import com.spring.training.config.ClientConfig;
+import com.spring.training.exception.DeadlineExceededException;
+import com.spring.training.resilience.Deadline;
+import com.spring.training.resilience.ResiliencePolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+    final AtomicInteger calls = new AtomicInteger();
+    final Sinks.One<String> response = Sinks.one();
+
+    @Test
+    void sharesConcurrentRequestsForTheSameKey() {
+        Mono<String> first = coalescer.execute("key", this::request).cache();
+        Mono<String> second = coalescer.execute("key", this::request).cache();
+        first.subscribe();
+        second.subscribe();
+
+        response.tryEmitValue("value");
+
+        assertThat(first.block()).isEqualTo("value");
+        assertThat(second.block()).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void sharesRequestsAcrossPrincipals() {
+        coalescer.execute("key", this::request).contextWrite(as("alice")).subscribe();
+        coalescer.execute("key", this::request).contextWrite(as("bob")).subscribe();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void appliesEachCallersDeadlineOnlyToThatCaller() {
+        ResiliencePolicy policy = new ResiliencePolicy(new ClientConfig(), new SimpleMeterRegistry());
+        Mono<String> hurried = policy.bound("test", coalescer.execute("key", this::request))
+                .contextWrite(context -> context.put(Deadline.KEY, Deadline.after(Duration.ofMillis(20))));
+        Mono<String> patient = policy.bound("test", coalescer.execute("key", this::request)).cache();
+        patient.subscribe();
+
+        assertThatThrownBy(hurried::block).isInstanceOf(DeadlineExceededException.class);
+        response.tryEmitValue("value");
+
+        assertThat(patient.block()).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void cancelsSharedRequestWhenTheLastCallerLeaves() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Disposable first = coalescer.execute("key", () -> request().doOnCancel(() -> cancelled.set(true))).subscribe();
+        Disposable second = coalescer.execute("key", this::request).subscribe();
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        second.dispose();
+
+        assertThat(cancelled).isTrue();
+        assertThat(coalescer.inFlight).isEmpty();
+    }
+
+    @Test
+    void startsNewRequestOnceThePreviousOneCompleted() {
+        coalescer.execute("key", () -> request("first")).block();
+        coalescer.execute("key", () -> request("second")).block();
+
+        assertThat(calls).hasValue(2);
+        assertThat(coalescer.inFlight).isEmpty();
+    }
+
+    private Mono<String> request() {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+    }
+
+    private Mono<String> request(String value) {
+        return Mono.fromCallable(() -> {
+            calls.incrementAndGet();
+            return value;
+        });
+    }
+
+    private static Context as(String name) {
+        return ReactiveSecurityContextHolder.withAuthentication(new TestingAuthenticationToken(name, "token"));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.spring.training.compression;
+
+import com.spring.training.config.CompressionConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressionWebFilterTest {
+
+    final CompressionWebFilter filter = new CompressionWebFilter(new CompressionConfig(), new SimpleMeterRegistry());
+
+    @Test
+    void compressesStreamedEventsIntoOneGzipStream() throws IOException {
+        MockServerWebExchange exchange = exchange("gzip");
+
+        filter.filter(exchange, decorated -> {
+            decorated.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            return decorated.getResponse().writeAndFlushWith(Flux.just(
+                    Flux.just(buffer(decorated, "data: 1\n\n")),
+                    Flux.just(buffer(decorated, "data: 2\n\n"))));
+        }).block();
+
+        MockServerHttpResponse response = exchange.getResponse();
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(GzipCompressorTest.gunzip(body(response))).isEqualTo("data: 1\n\ndata: 2\n\n");
+    }
+
+    @Test
+    void leavesResponseAloneWhenGzipIsNotAccepted() {
+        MockServerWebExchange exchange = exchange("identity");
+
+        filter.filter(exchange, decorated -> {
+            decorated.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return decorated.getResponse().writeWith(Flux.just(buffer(decorated, "{}")));
+        }).block();
+
+        assertThat(exchange.getResponse().getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{}");
+    }
+
+    private static MockServerWebExchange exchange(String encoding) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/persons").header(HttpHeaders.ACCEPT_ENCODING, encoding));
+    }
+
+    private static DataBuffer buffer(ServerWebExchange exchange, String value) {
+        return exchange.getResponse().bufferFactory().wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] body(MockServerHttpResponse response) {
+        DataBuffer joined = DataBufferUtils.join(response.getBody()).block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.spring.training.compression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipCompressorTest {
+
+    final DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+
+    @Test
+    void producesAValidGzipStream() throws IOException {
+        GzipCompressor compressor = new GzipCompressor(factory, 6);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        output.write(bytes(compressor.compress(buffer("hello "))));
+        output.write(bytes(compressor.compress(buffer("world"))));
+        output.write(bytes(compressor.finish()));
+
+        assertThat(gunzip(output.toByteArray())).isEqualTo("hello world");
+        assertThat(compressor.getBytesIn()).isEqualTo(11);
+        assertThat(compressor.getBytesOut()).isEqualTo(output.size());
+    }
+
+    @Test
+    void flushesEveryChunkSoItCanBeDecodedImmediately() throws DataFormatException {
+        GzipCompressor compressor = new GzipCompressor(factory, 6);
+
+        byte[] first = bytes(compressor.compress(buffer("data: first\n\n")));
+
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(Arrays.copyOfRange(first, GzipCompressor.HEADER.length, first.length));
+        byte[] decoded = new byte[64];
+        int length = inflater.inflate(decoded);
+        assertThat(new String(decoded, 0, length, StandardCharsets.UTF_8)).isEqualTo("data: first\n\n");
+        compressor.end();
+    }
+
+    @Test
+    void encodesAnEmptyBody() throws IOException {
+        GzipCompressor compressor = new GzipCompressor(factory, 6);
+
+        assertThat(gunzip(bytes(compressor.finish()))).isEmpty();
+    }
+
+    private DataBuffer buffer(String value) {
+        return factory.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1024];
+            int read;
+            while ((read = input.read(chunk)) > 0) {
+                output.write(chunk, 0, read);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
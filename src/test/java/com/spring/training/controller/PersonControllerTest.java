@@ -0,0 +1,63 @@
+package com.spring.training.controller;
+
+import com.spring.training.exception.APIExceptionHandler;
+import com.spring.training.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersonControllerTest {
+
+    final PersonService service = mock(PersonService.class);
+    final WebTestClient client = WebTestClient.bindToController(new PersonController(service))
+            .controllerAdvice(new APIExceptionHandler())
+            .build();
+
+    @Test
+    void rejectsNegativeLimit() {
+        client.get().uri("/persons?limit=-1").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void rejectsNegativeCursor() {
+        client.get().uri("/persons?cursor=-5").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void streamsAllPersonsWithoutLimit() {
+        when(service.getPersons(anyLong(), anyLong())).thenReturn(Flux.empty());
+
+        client.get().uri("/persons").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(service).getPersons(0, Long.MAX_VALUE);
+    }
+
+    @Test
+    void routesIdLookupsWithNdjsonAcceptToTheBatchHandler() {
+        when(service.getPersons(anyList())).thenReturn(Flux.empty());
+
+        client.get().uri("/persons?ids=1,2").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(service).getPersons(Arrays.asList(1L, 2L));
+        verify(service, never()).getPersons(anyLong(), anyLong());
+    }
+
+}
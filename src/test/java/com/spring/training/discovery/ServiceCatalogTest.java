@@ -0,0 +1,152 @@
+package com.spring.training.discovery;
+
+import com.ecwid.consul.v1.ConsulClient;
+import com.spring.training.config.CatalogConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.commons.util.InetUtils;
+import org.springframework.cloud.commons.util.InetUtilsProperties;
+import org.springframework.cloud.consul.discovery.ConsulDiscoveryProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceCatalogTest {
+
+    static final String INSTANCES = "[{\"Node\":{\"Node\":\"node\",\"Address\":\"10.0.0.1\"},"
+            + "\"Service\":{\"ID\":\"upstream-1\",\"Service\":\"upstream\",\"Address\":\"10.0.0.1\",\"Port\":8080,\"Tags\":[],\"Meta\":{}},"
+            + "\"Checks\":[]}]";
+
+    final Queue<String> queries = new ConcurrentLinkedQueue<>();
+    final AtomicInteger failures = new AtomicInteger();
+    final CatalogConfig config = new CatalogConfig();
+    HttpServer consul;
+    ServiceCatalog catalog;
+
+    @BeforeEach
+    void start() throws IOException {
+        consul = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        consul.setExecutor(Executors.newCachedThreadPool());
+        consul.createContext("/v1/health/service/upstream", this::health);
+        consul.start();
+        config.setWait(Duration.ofSeconds(1));
+        config.setInitialTimeout(Duration.ofSeconds(5));
+        config.setMinBackoff(Duration.ofMillis(10));
+        config.setMaxBackoff(Duration.ofMillis(50));
+        catalog = new ServiceCatalog(new ConsulClient("localhost", consul.getAddress().getPort()),
+                new ConsulDiscoveryProperties(new InetUtils(new InetUtilsProperties())), config);
+    }
+
+    @AfterEach
+    void stop() {
+        catalog.stop();
+        consul.stop(0);
+    }
+
+    @Test
+    void blocksOnTheLastSeenIndex() throws InterruptedException {
+        List<ServiceInstance> instances = catalog.getInstances("upstream").blockFirst(Duration.ofSeconds(5));
+
+        assertThat(instances).extracting(ServiceInstance::getPort).containsExactly(8080);
+        Thread.sleep(100);
+        List<String> indexes = queries.stream().map(ServiceCatalogTest::index).collect(Collectors.toList());
+        assertThat(indexes.get(0)).isIn("0", null);
+        assertThat(indexes.subList(1, indexes.size())).isNotEmpty().containsOnly("42");
+    }
+
+    @Test
+    void retriesWithBackoffAfterFailures() {
+        failures.set(3);
+
+        List<ServiceInstance> instances = catalog.getInstances("upstream").blockFirst(Duration.ofSeconds(5));
+
+        assertThat(instances).extracting(ServiceInstance::getPort).containsExactly(8080);
+        assertThat(failures).hasValue(0);
+        assertThat(queries.size()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void failsFastOnceTheFirstWaitForAnUnknownServiceTimesOut() {
+        failures.set(Integer.MAX_VALUE);
+        config.setInitialTimeout(Duration.ofMillis(200));
+
+        assertThat(catalog.getInstances("upstream").blockFirst(Duration.ofSeconds(5))).isEmpty();
+        long start = System.nanoTime();
+        assertThat(catalog.getInstances("upstream").blockFirst(Duration.ofSeconds(5))).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(100));
+
+        failures.set(0);
+        await(() -> !catalog.getInstances("upstream").blockFirst(Duration.ofSeconds(5)).isEmpty());
+        assertThat(catalog.getInstances("upstream").blockFirst(Duration.ofSeconds(5)))
+                .extracting(ServiceInstance::getPort).containsExactly(8080);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            sleep();
+        }
+    }
+
+    private void health(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        queries.add(query == null ? "" : query);
+        if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            respond(exchange, 500, "unavailable", null);
+            return;
+        }
+        if ("42".equals(index(query))) {
+            sleep();
+        }
+        respond(exchange, 200, INSTANCES, "42");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String index) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (index != null) {
+            exchange.getResponseHeaders().set("X-Consul-Index", index);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String index(String query) {
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("index=")) {
+                return parameter.substring("index=".length());
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.spring.training.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EtagWebFilterTest {
+
+    final EtagWebFilter filter = new EtagWebFilter(Collections.singletonList("/persons/{id}"));
+
+    @Test
+    void tagsEntityResponsesWithWeakEtag() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1"));
+
+        filter.filter(exchange, write("{\"id\":1}")).block();
+
+        assertThat(exchange.getResponse().getHeaders().getETag()).startsWith("W/\"");
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWithNotModified() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1"));
+        filter.filter(first, write("{\"id\":1}")).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(second, write("{\"id\":1}")).block();
+
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getResponse().getBodyAsString().block()).isEmpty();
+    }
+
+    @Test
+    void leavesOtherRoutesUnbuffered() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons"));
+
+        filter.filter(exchange, write("[]")).block();
+
+        assertThat(exchange.getResponse().getHeaders().getETag()).isNull();
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("[]");
+    }
+
+    private static WebFilterChain write(String body) {
+        return exchange -> exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                .wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.spring.training.limiter;
+
+import com.spring.training.config.LimiterConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimitTest {
+
+    final LimiterConfig config = new LimiterConfig();
+    final AdaptiveLimit limit = new AdaptiveLimit(config);
+
+    @Test
+    void rejectsAcquiresAboveTheLimit() {
+        for (int i = 0; i < config.getInitialLimit(); i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyStaysFlat() {
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(1_000_000, (int) limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(config.getInitialLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(1_000_000, (int) limit.getLimit());
+        }
+        double grown = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(10_000_000, (int) limit.getLimit());
+        }
+
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void ignoresSamplesTakenWhileMostlyIdle() {
+        limit.onSample(1_000_000, 0);
+        limit.onSample(1_000_000, 0);
+
+        assertThat(limit.getLimit()).isEqualTo(config.getInitialLimit());
+    }
+
+    @Test
+    void backsOffOnDropsDownToTheMinimum() {
+        limit.onDrop();
+        assertThat(limit.getLimit()).isEqualTo(config.getInitialLimit() * config.getBackoffRatio());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onDrop();
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(config.getMinLimit());
+    }
+
+}
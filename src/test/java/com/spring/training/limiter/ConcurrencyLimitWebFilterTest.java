@@ -0,0 +1,66 @@
+package com.spring.training.limiter;
+
+import com.spring.training.config.LimiterConfig;
+import com.spring.training.metrics.UpstreamTime;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitWebFilterTest {
+
+    final ConcurrencyLimitWebFilter filter = new ConcurrencyLimitWebFilter(config(), new SimpleMeterRegistry());
+    final AdaptiveLimit limit = filter.groups.get(0).limit;
+
+    @Test
+    void doesNotSampleResponsesServedWithoutUpstreamCall() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1"));
+
+        filter.filter(exchange, decorated -> Mono.empty()).block();
+
+        assertThat(limit.longRtt).isZero();
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void samplesTheUpstreamRoundTrip() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons/1"));
+
+        filter.filter(exchange, decorated -> Mono.deferContextual(context -> {
+            UpstreamTime.record(context, 5_000_000);
+            return Mono.empty();
+        })).block();
+
+        assertThat(limit.longRtt).isEqualTo(5_000_000);
+    }
+
+    @Test
+    void releasesPermitOnceStreamedResponseIsCommitted() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/persons"));
+        int[] inFlightWhileStreaming = new int[1];
+
+        filter.filter(exchange, decorated -> {
+            decorated.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            return decorated.getResponse().writeAndFlushWith(Flux.just(Flux.just(decorated.getResponse().bufferFactory()
+                    .wrap("data: 1\n\n".getBytes(StandardCharsets.UTF_8)))))
+                    .doOnSuccess(done -> inFlightWhileStreaming[0] = limit.getInFlight());
+        }).block();
+
+        assertThat(inFlightWhileStreaming[0]).isZero();
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    private static LimiterConfig config() {
+        LimiterConfig config = new LimiterConfig();
+        config.getGroups().put("persons", "/persons/**");
+        return config;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.spring.training.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+
+        assertThat(bucket.tryConsume(0)).isEqualTo(2);
+        assertThat(bucket.tryConsume(0)).isEqualTo(1);
+        assertThat(bucket.tryConsume(0)).isEqualTo(0);
+        assertThat(bucket.tryConsume(0)).isEqualTo(-1);
+        assertThat(bucket.waitTime(0)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+
+        assertThat(bucket.tryConsume(0)).isEqualTo(0);
+        assertThat(bucket.tryConsume(SECOND / 20)).isEqualTo(-1);
+        assertThat(bucket.tryConsume(SECOND / 10)).isEqualTo(0);
+    }
+
+    @Test
+    void doesNotAccumulateMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+
+        assertThat(bucket.tryConsume(100 * SECOND)).isEqualTo(1);
+        assertThat(bucket.tryConsume(100 * SECOND)).isEqualTo(0);
+        assertThat(bucket.tryConsume(100 * SECOND)).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsRatesAndBurstsThatCannotBeRepresented() {
+        assertThatThrownBy(() -> new TokenBucket(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(-1, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(Double.NaN, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(10, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1e-12, Integer.MAX_VALUE)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
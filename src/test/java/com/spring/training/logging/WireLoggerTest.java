@@ -0,0 +1,49 @@
+package com.spring.training.logging;
+
+import com.spring.training.config.WireLogConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireLoggerTest {
+
+    final WireLogger logger = new WireLogger(new WireLogConfig(), new SimpleMeterRegistry());
+
+    @Test
+    void masksConfiguredFields() {
+        String body = "{\"name\":\"Ada\",\"email\":\"ada@example.com\",\"Password\" : \"p\\\"w\",\"age\":36,\"token\":null}";
+
+        assertThat(logger.redact(body))
+                .isEqualTo("{\"name\":\"Ada\",\"email\":\"***\",\"Password\" : \"***\",\"age\":36,\"token\":\"***\"}");
+    }
+
+    @Test
+    void masksFieldsOfNestedAndTruncatedBodies() {
+        String body = "request={\"user\":{\"password\":\"secret\"}} response={\"access_token\":\"eyJhbGciOi";
+
+        assertThat(logger.redact(body))
+                .isEqualTo("request={\"user\":{\"password\":\"***\"}} response={\"access_token\":\"***\"");
+    }
+
+    @Test
+    void leavesOtherFieldsAlone() {
+        String body = "{\"tokens\":3,\"emailVerified\":true}";
+
+        assertThat(logger.redact(body)).isEqualTo(body);
+    }
+
+    @Test
+    void ignoresForceHeaderUnlessEnabled() {
+        WireLogConfig config = new WireLogConfig();
+        config.setSampleRate(0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Wire-Log", "true");
+
+        assertThat(new WireLogger(config, new SimpleMeterRegistry()).isSampled(headers)).isFalse();
+        config.setForceHeaderEnabled(true);
+        assertThat(new WireLogger(config, new SimpleMeterRegistry()).isSampled(headers)).isTrue();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.spring.training.resilience;
+
+import com.spring.training.config.HedgeConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgerTest {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final AtomicInteger attempts = new AtomicInteger();
+    final Hedger hedger = new Hedger("test", config(), registry);
+
+    @Test
+    void returnsPrimaryWithoutHedgingWhenFast() {
+        assertThat(hedger.execute(request(Mono.just("primary"), Mono.just("hedge"))).block()).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void waitsForPendingHedgeWhenPrimaryFails() {
+        Mono<String> primary = Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException("reset")));
+        Mono<String> hedge = Mono.delay(Duration.ofMillis(150)).thenReturn("hedge");
+
+        assertThat(hedger.execute(request(primary, hedge)).block()).isEqualTo("hedge");
+        assertThat(registry.counter("upstream.hedge.wins", "method", "test").count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsWithoutHedgingWhenPrimaryFailsBeforeTheDelay() {
+        assertThatThrownBy(() -> hedger.execute(request(Mono.error(new IllegalStateException("reset")), Mono.just("hedge"))).block())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void failsWithPrimaryErrorWhenBothFail() {
+        Mono<String> primary = Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException("primary")));
+        Mono<String> hedge = Mono.error(new IllegalArgumentException("hedge"));
+
+        assertThatThrownBy(() -> hedger.execute(request(primary, hedge)).block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("primary");
+    }
+
+    @Test
+    void doesNotSampleThePrimaryCancelledByAWinningHedge() {
+        Mono<String> primary = Mono.never();
+        Mono<String> hedge = Mono.just("hedge");
+
+        assertThat(hedger.execute(request(primary, hedge)).block()).isEqualTo("hedge");
+        assertThat(hedger.count).hasValue(1);
+    }
+
+    private Mono<String> request(Mono<String> primary, Mono<String> hedge) {
+        return Mono.defer(() -> attempts.incrementAndGet() == 1 ? primary : hedge);
+    }
+
+    private static HedgeConfig config() {
+        HedgeConfig config = new HedgeConfig();
+        config.setEnabled(true);
+        config.setInitialDelay(Duration.ofMillis(20));
+        return config;
+    }
+
+}
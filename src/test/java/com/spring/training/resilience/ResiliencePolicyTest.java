@@ -0,0 +1,106 @@
+package com.spring.training.resilience;
+
+import com.spring.training.config.ClientConfig;
+import com.spring.training.exception.DeadlineExceededException;
+import com.spring.training.exception.RequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResiliencePolicyTest {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final ClientConfig config = config();
+
+    @Test
+    void exhaustedRetriesSpendOneBudgetTokenPerRetry() {
+        ResiliencePolicy policy = new ResiliencePolicy(config, registry);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+        });
+
+        assertThatThrownBy(() -> policy.idempotent("test", failing).block()).isInstanceOf(WebClientResponseException.class);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(policy.budget.getBalance()).isEqualTo(98.0);
+    }
+
+    @Test
+    void boundAppliesMethodTimeoutAndPropagatesItWithoutCallerDeadline() {
+        ResiliencePolicy policy = new ResiliencePolicy(config, registry);
+        Mono<Deadline> propagated = Mono.deferContextual(context -> Mono.just(Deadline.from(context)));
+
+        assertThat(policy.bound("test", propagated).block()).isNotNull();
+        assertThatThrownBy(() -> policy.bound("test", Mono.never()).block())
+                .isInstanceOf(RequestException.class)
+                .hasMessageContaining("timed out after 200ms");
+        assertThat(registry.counter("upstream.deadline.exceeded", "method", "test", "cause", "timeout").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void boundStopsAtCallerDeadlineShorterThanTimeout() {
+        ResiliencePolicy policy = new ResiliencePolicy(config, registry);
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> policy.bound("test", Mono.never())
+                .contextWrite(context -> context.put(Deadline.KEY, Deadline.after(Duration.ofMillis(50))))
+                .block())
+                .isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(200));
+        assertThat(registry.counter("upstream.deadline.exceeded", "method", "test", "cause", "caller").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void boundFailsWithoutCallingWhenDeadlineHasPassed() {
+        ResiliencePolicy policy = new ResiliencePolicy(config, registry);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.bound("test", Mono.fromCallable(calls::incrementAndGet))
+                .contextWrite(context -> context.put(Deadline.KEY, Deadline.after(Duration.ZERO)))
+                .block())
+                .isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void streamIsCutAtCallerDeadlineEvenWhileElementsKeepArriving() {
+        ResiliencePolicy policy = new ResiliencePolicy(config, registry);
+        Flux<Long> ticking = Flux.interval(Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> policy.stream("test", ticking)
+                .contextWrite(context -> context.put(Deadline.KEY, Deadline.after(Duration.ofMillis(100))))
+                .blockLast(Duration.ofSeconds(5)))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    void streamTimesOutWaitingForFirstElement() {
+        ResiliencePolicy policy = new ResiliencePolicy(config, registry);
+
+        assertThatThrownBy(() -> policy.stream("test", Flux.never()).blockLast(Duration.ofSeconds(5)))
+                .isInstanceOf(RequestException.class);
+    }
+
+    private static ClientConfig config() {
+        ClientConfig config = new ClientConfig();
+        config.getBreaker().setEnabled(false);
+        config.getRetry().setMaxRetries(2);
+        config.getRetry().setMinBackoff(Duration.ofMillis(1));
+        config.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        config.getTimeout().setDefaultTimeout(Duration.ofMillis(200));
+        return config;
+    }
+
+}
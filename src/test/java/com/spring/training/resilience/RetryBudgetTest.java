@@ -0,0 +1,46 @@
+package com.spring.training.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    void allowsRetriesUpToTheBalance() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+        assertThat(budget.getBalance()).isZero();
+    }
+
+    @Test
+    void earnsOneRetryPerTenRequestsAtTenPercent() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+        budget.tryWithdraw();
+        budget.tryWithdraw();
+
+        for (int i = 0; i < 9; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw()).isFalse();
+        budget.deposit();
+        assertThat(budget.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void capsDepositsAndRefundsAtTheMaximum() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        budget.deposit();
+        budget.refund();
+
+        assertThat(budget.getBalance()).isEqualTo(2.0);
+        budget.tryWithdraw();
+        budget.refund();
+        assertThat(budget.getBalance()).isEqualTo(2.0);
+    }
+
+}
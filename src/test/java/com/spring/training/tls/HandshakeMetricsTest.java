@@ -0,0 +1,82 @@
+package com.spring.training.tls;
+
+import com.spring.training.config.TlsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.Ssl;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandshakeMetricsTest {
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final HandshakeMetrics metrics = new HandshakeMetrics(registry);
+    final TlsConfig config = new TlsConfig();
+    DisposableServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void countsReconnectWithinTheSameSecondAsResumed() {
+        server = HttpServer.create()
+                .port(0)
+                .secure(spec -> spec.sslContext(TlsContexts.forServer(ssl(), config, false)))
+                .doOnChannelInit((observer, channel, address) -> metrics.observeServer(channel))
+                .handle((request, response) -> response.sendString(Mono.just("ok")))
+                .bindNow();
+        HttpClient client = HttpClient.newConnection()
+                .secure(spec -> spec.sslContext(TlsContexts.forClient(clientSsl(), config, false)))
+                .doOnChannelInit((observer, channel, address) -> metrics.observeClient(channel));
+
+        for (int i = 0; i < 2; i++) {
+            String body = client.get()
+                    .uri("https://localhost:" + server.port() + "/")
+                    .responseContent()
+                    .aggregate()
+                    .asString()
+                    .block(Duration.ofSeconds(10));
+            assertThat(body).isEqualTo("ok");
+        }
+
+        assertThat(count("client", "full")).isEqualTo(1);
+        assertThat(count("client", "resumed")).isEqualTo(1);
+        assertThat(count("server", "full")).isEqualTo(1);
+        assertThat(count("server", "resumed")).isEqualTo(1);
+    }
+
+    private long count(String side, String session) {
+        return registry.timer("tls.handshakes", "side", side, "session", session).count();
+    }
+
+    private static Ssl ssl() {
+        Ssl ssl = new Ssl();
+        ssl.setKeyStore("classpath:server.jks");
+        ssl.setKeyStorePassword("changeit");
+        ssl.setKeyStoreType("JKS");
+        ssl.setKeyAlias("thinktech");
+        return ssl;
+    }
+
+    private static Map<String, String> clientSsl() {
+        Map<String, String> ssl = new HashMap<>();
+        ssl.put("key-store", "classpath:server.jks");
+        ssl.put("key-store-password", "changeit");
+        ssl.put("key-store-type", "JKS");
+        return ssl;
+    }
+
+}
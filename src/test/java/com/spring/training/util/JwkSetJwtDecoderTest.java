@@ -0,0 +1,95 @@
+package com.spring.training.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.spring.training.config.JwtConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwkSetJwtDecoderTest {
+
+    HttpServer issuer;
+    JwkSetJwtDecoder decoder;
+
+    @AfterEach
+    void stop() {
+        decoder.stop();
+        issuer.stop(0);
+    }
+
+    @Test
+    void decodesTokenArrivingRightAfterStart() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("signing").generate();
+        start(new JWKSet(key.toPublicJWK()));
+
+        assertThat(decoder.decode(token(key, "signing")).block().getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void triesEveryKeyWhenTokenHasNoKid() throws Exception {
+        RSAKey first = new RSAKeyGenerator(2048).keyID("first").generate();
+        RSAKey second = new RSAKeyGenerator(2048).keyID("second").generate();
+        start(new JWKSet(Arrays.asList(first.toPublicJWK(), second.toPublicJWK())));
+
+        assertThat(decoder.decode(token(second, null)).block().getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void ignoresEncryptionKeysAndKeysForOtherAlgorithms() throws Exception {
+        RSAKey encryption = new RSAKeyGenerator(2048).keyID("enc").keyUse(KeyUse.ENCRYPTION).generate();
+        RSAKey other = new RSAKeyGenerator(2048).keyID("other").algorithm(JWSAlgorithm.PS256).generate();
+        start(new JWKSet(Arrays.asList(encryption.toPublicJWK(), other.toPublicJWK())));
+
+        assertThatThrownBy(() -> decoder.decode(token(encryption, "enc")).block())
+                .isInstanceOf(BadJwtException.class)
+                .hasMessageContaining("no signing key");
+        assertThatThrownBy(() -> decoder.decode(token(other, "other")).block())
+                .isInstanceOf(BadJwtException.class)
+                .hasMessageContaining("no signing key");
+    }
+
+    private void start(JWKSet keys) throws IOException {
+        byte[] body = keys.toString().getBytes(StandardCharsets.UTF_8);
+        issuer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        issuer.createContext("/certs", exchange -> respond(exchange, body));
+        issuer.start();
+        decoder = new JwkSetJwtDecoder("http://localhost:" + issuer.getAddress().getPort() + "/certs", new JwtConfig());
+        decoder.start();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static String token(RSAKey key, String kid) throws Exception {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build(),
+                new JWTClaimsSet.Builder().subject("alice").expirationTime(new Date(System.currentTimeMillis() + 60_000)).build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+}